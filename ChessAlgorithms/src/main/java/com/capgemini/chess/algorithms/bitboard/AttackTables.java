@@ -0,0 +1,272 @@
+package com.capgemini.chess.algorithms.bitboard;
+
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Precomputed attack tables. Leaper attacks are stored per square, sliding
+ * attacks are looked up with magic bitboards: relevant occupancy of the ray
+ * mask multiplied by the square magic gives index into the attack table.
+ *
+ */
+public final class AttackTables {
+
+	private static final long[] ROOK_MAGICS = {
+			0x0080108000204001L, 0x4040004010002000L, 0x4100082001011440L, 0x0480100004800802L,
+			0x8480040002880080L, 0xC400900220040008L, 0x0200008708141A00L, 0x0900068100102142L,
+			0x2400802040008000L, 0x1040802000804008L, 0x0208802000821000L, 0x1202001201400A21L,
+			0x0809800400801800L, 0x00E1000900040002L, 0x04210002002C4900L, 0x0002001044020899L,
+			0x0000908000400024L, 0x0180230040008100L, 0xC000190020010040L, 0x4010010020090010L,
+			0x4801010008000410L, 0x1000808004000201L, 0x9420040008812210L, 0x0081120000905C01L,
+			0x0004802380004011L, 0x8000200040005008L, 0x3000100080200080L, 0x0800100080800800L,
+			0x5800080080040080L, 0x0100020080800400L, 0x0420F00400082201L, 0x0530288200004104L,
+			0x4001804001800128L, 0x001080400A80200AL, 0x20C0100080802000L, 0x0240200842001200L,
+			0x0288000400808008L, 0x020C800400800200L, 0x9820800100800200L, 0x400040911A000844L,
+			0x0480002000404000L, 0x0000500020004000L, 0x0801002000410010L, 0x120100201003000CL,
+			0x4000040008008080L, 0x4401000204010008L, 0x8800212228040010L, 0x0021000890410002L,
+			0x0080004008200840L, 0x1820182080400080L, 0x2200200080100080L, 0x2008801000080080L,
+			0x201A809401680080L, 0x2002008410080E00L, 0x0004880102304400L, 0x00501081084C0E00L,
+			0x0006114101208001L, 0x0000204010810206L, 0x0001020820009043L, 0x0005000410002189L,
+			0x002A001060040816L, 0x4005000854000229L, 0x000008209110020CL, 0x220A040C21024082L };
+
+	private static final long[] BISHOP_MAGICS = {
+			0x8148200844810310L, 0x1002028204110200L, 0x8010840088204001L, 0x0844104A00200000L,
+			0x0001104100200010L, 0x501A028220000000L, 0x6209013010040020L, 0x0100202424044005L,
+			0x000140088E008228L, 0xC840480248020022L, 0x0800440C40820001L, 0x0010282040410300L,
+			0x0060240420480100L, 0x21288C2404C080A0L, 0x0411458858180400L, 0x001E007382182008L,
+			0x0020010620740110L, 0x0021041C0808A104L, 0x0012190C0404002AL, 0x4008080082024112L,
+			0x5252104401202000L, 0x000B010202410C00L, 0x0000820402011048L, 0x2018800A44340104L,
+			0x0010410004040401L, 0x10221088A0010204L, 0x0000404908020242L, 0x00300440040400A8L,
+			0x4001010090104008L, 0x0001040862020100L, 0x20024A0020411000L, 0x0000420086530401L,
+			0x4808200800900210L, 0x12510808066011D0L, 0x400A011000010040L, 0x4126202020080080L,
+			0x2004200200002080L, 0x1010130200014041L, 0x18101106042100A0L, 0x0801004200058E00L,
+			0x2402100208E02200L, 0x088400C808106422L, 0x20420222010F2800L, 0x0021104208000080L,
+			0x010082020A001C02L, 0x4002809001004480L, 0x024914A424201080L, 0x3002022403098820L,
+			0x4201051022212020L, 0x0210C64844100202L, 0x0802128420880000L, 0x4120000A0A020111L,
+			0x0007105082088140L, 0x08242085010200C0L, 0x1320080138408000L, 0x0310014204104000L,
+			0x2000442804101400L, 0x6201828088511048L, 0x4000248201108800L, 0x002010A084840430L,
+			0x0804023112020200L, 0x00020640108A1228L, 0x2200040408080105L, 0x0140010202004500L };
+
+	private static final int[][] ROOK_DIRECTIONS = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+	private static final int[][] BISHOP_DIRECTIONS = { { 1, 1 }, { 1, -1 }, { -1, 1 }, { -1, -1 } };
+	private static final int[][] KNIGHT_JUMPS = { { 1, 2 }, { 2, 1 }, { 2, -1 }, { 1, -2 }, { -1, -2 }, { -2, -1 },
+			{ -2, 1 }, { -1, 2 } };
+	private static final int[][] KING_STEPS = { { 1, 0 }, { 1, 1 }, { 0, 1 }, { -1, 1 }, { -1, 0 }, { -1, -1 },
+			{ 0, -1 }, { 1, -1 } };
+
+	private static final int SQUARES = Board.SIZE * Board.SIZE;
+
+	private static final long[] KNIGHT_ATTACKS = new long[SQUARES];
+	private static final long[] KING_ATTACKS = new long[SQUARES];
+	private static final long[][] PAWN_ATTACKS = new long[Color.values().length][SQUARES];
+
+	private static final long[] ROOK_RAYS = new long[SQUARES];
+	private static final long[] BISHOP_RAYS = new long[SQUARES];
+	private static final long[] ROOK_MASKS = new long[SQUARES];
+	private static final long[] BISHOP_MASKS = new long[SQUARES];
+	private static final int[] ROOK_SHIFTS = new int[SQUARES];
+	private static final int[] BISHOP_SHIFTS = new int[SQUARES];
+	private static final long[][] ROOK_TABLE = new long[SQUARES][];
+	private static final long[][] BISHOP_TABLE = new long[SQUARES][];
+
+	private static final long[][] BETWEEN = new long[SQUARES][SQUARES];
+
+	static {
+		for (int square = 0; square < SQUARES; square++) {
+			KNIGHT_ATTACKS[square] = leaperAttacks(square, KNIGHT_JUMPS);
+			KING_ATTACKS[square] = leaperAttacks(square, KING_STEPS);
+			PAWN_ATTACKS[Color.WHITE.ordinal()][square] = leaperAttacks(square, new int[][] { { -1, 1 }, { 1, 1 } });
+			PAWN_ATTACKS[Color.BLACK.ordinal()][square] = leaperAttacks(square, new int[][] { { -1, -1 }, { 1, -1 } });
+
+			ROOK_RAYS[square] = slidingAttacks(square, Bitboards.EMPTY, ROOK_DIRECTIONS);
+			BISHOP_RAYS[square] = slidingAttacks(square, Bitboards.EMPTY, BISHOP_DIRECTIONS);
+			ROOK_MASKS[square] = relevantOccupancyMask(square, ROOK_DIRECTIONS);
+			BISHOP_MASKS[square] = relevantOccupancyMask(square, BISHOP_DIRECTIONS);
+			ROOK_SHIFTS[square] = SQUARES - Bitboards.count(ROOK_MASKS[square]);
+			BISHOP_SHIFTS[square] = SQUARES - Bitboards.count(BISHOP_MASKS[square]);
+			ROOK_TABLE[square] = fillMagicTable(square, ROOK_MASKS[square], ROOK_MAGICS[square], ROOK_SHIFTS[square],
+					ROOK_DIRECTIONS);
+			BISHOP_TABLE[square] = fillMagicTable(square, BISHOP_MASKS[square], BISHOP_MAGICS[square],
+					BISHOP_SHIFTS[square], BISHOP_DIRECTIONS);
+		}
+
+		for (int from = 0; from < SQUARES; from++) {
+			for (int to = 0; to < SQUARES; to++) {
+				BETWEEN[from][to] = squaresBetween(from, to);
+			}
+		}
+	}
+
+	private AttackTables() {
+	}
+
+	public static long knightAttacks(int square) {
+		return KNIGHT_ATTACKS[square];
+	}
+
+	public static long kingAttacks(int square) {
+		return KING_ATTACKS[square];
+	}
+
+	/**
+	 * Gets squares attacked (diagonally) by pawn of given color
+	 *
+	 * @param color
+	 *            pawn color
+	 * @param square
+	 *            pawn square
+	 * @return attacked squares
+	 */
+	public static long pawnAttacks(Color color, int square) {
+		return PAWN_ATTACKS[color.ordinal()][square];
+	}
+
+	public static long rookAttacks(int square, long occupancy) {
+		return ROOK_TABLE[square][(int) (((occupancy & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+	}
+
+	public static long bishopAttacks(int square, long occupancy) {
+		return BISHOP_TABLE[square][(int) (((occupancy & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+	}
+
+	public static long queenAttacks(int square, long occupancy) {
+		return rookAttacks(square, occupancy) | bishopAttacks(square, occupancy);
+	}
+
+	/**
+	 * Gets squares reachable from given square by rook on empty board
+	 *
+	 * @param square
+	 *            rook square
+	 * @return orthogonal rays
+	 */
+	public static long rookRays(int square) {
+		return ROOK_RAYS[square];
+	}
+
+	/**
+	 * Gets squares reachable from given square by bishop on empty board
+	 *
+	 * @param square
+	 *            bishop square
+	 * @return diagonal rays
+	 */
+	public static long bishopRays(int square) {
+		return BISHOP_RAYS[square];
+	}
+
+	/**
+	 * Gets squares strictly between two squares lying on common line or
+	 * diagonal
+	 *
+	 * @param from
+	 *            first square
+	 * @param to
+	 *            second square
+	 * @return squares between, empty if squares are not aligned
+	 */
+	public static long between(int from, int to) {
+		return BETWEEN[from][to];
+	}
+
+	/**
+	 * Gets squares attacked by given piece, pawns attack diagonally only
+	 *
+	 * @param piece
+	 *            chess piece
+	 * @param square
+	 *            piece square
+	 * @param occupancy
+	 *            occupied squares, blocking sliding pieces
+	 * @return attacked squares
+	 */
+	public static long attacks(Piece piece, int square, long occupancy) {
+		switch (piece.getType()) {
+		case KING:
+			return KING_ATTACKS[square];
+		case QUEEN:
+			return queenAttacks(square, occupancy);
+		case BISHOP:
+			return bishopAttacks(square, occupancy);
+		case KNIGHT:
+			return KNIGHT_ATTACKS[square];
+		case ROOK:
+			return rookAttacks(square, occupancy);
+		default:
+			return PAWN_ATTACKS[piece.getColor().ordinal()][square];
+		}
+	}
+
+	private static long leaperAttacks(int square, int[][] offsets) {
+		long attacks = Bitboards.EMPTY;
+		for (int[] offset : offsets) {
+			int x = Bitboards.x(square) + offset[0];
+			int y = Bitboards.y(square) + offset[1];
+			if (Bitboards.isOnBoard(x, y)) {
+				attacks |= Bitboards.bit(Bitboards.square(x, y));
+			}
+		}
+		return attacks;
+	}
+
+	private static long slidingAttacks(int square, long occupancy, int[][] directions) {
+		long attacks = Bitboards.EMPTY;
+		for (int[] direction : directions) {
+			int x = Bitboards.x(square) + direction[0];
+			int y = Bitboards.y(square) + direction[1];
+			while (Bitboards.isOnBoard(x, y)) {
+				int target = Bitboards.square(x, y);
+				attacks |= Bitboards.bit(target);
+				if (Bitboards.contains(occupancy, target)) {
+					break;
+				}
+				x += direction[0];
+				y += direction[1];
+			}
+		}
+		return attacks;
+	}
+
+	private static long relevantOccupancyMask(int square, int[][] directions) {
+		long mask = Bitboards.EMPTY;
+		for (int[] direction : directions) {
+			int x = Bitboards.x(square) + direction[0];
+			int y = Bitboards.y(square) + direction[1];
+			// the last square of the ray does not change attacked squares
+			while (Bitboards.isOnBoard(x + direction[0], y + direction[1])) {
+				mask |= Bitboards.bit(Bitboards.square(x, y));
+				x += direction[0];
+				y += direction[1];
+			}
+		}
+		return mask;
+	}
+
+	private static long[] fillMagicTable(int square, long mask, long magic, int shift, int[][] directions) {
+		long[] table = new long[1 << (SQUARES - shift)];
+		long subset = Bitboards.EMPTY;
+		do {
+			table[(int) ((subset * magic) >>> shift)] = slidingAttacks(square, subset, directions);
+			subset = (subset - mask) & mask;
+		} while (subset != Bitboards.EMPTY);
+		return table;
+	}
+
+	private static long squaresBetween(int from, int to) {
+		int changeX = Bitboards.x(to) - Bitboards.x(from);
+		int changeY = Bitboards.y(to) - Bitboards.y(from);
+		boolean aligned = changeX == 0 || changeY == 0 || Math.abs(changeX) == Math.abs(changeY);
+		if (from == to || !aligned) {
+			return Bitboards.EMPTY;
+		}
+		int stepX = Integer.signum(changeX);
+		int stepY = Integer.signum(changeY);
+		long between = Bitboards.EMPTY;
+		for (int x = Bitboards.x(from) + stepX, y = Bitboards.y(from) + stepY; x != Bitboards.x(to)
+				|| y != Bitboards.y(to); x += stepX, y += stepY) {
+			between |= Bitboards.bit(Bitboards.square(x, y));
+		}
+		return between;
+	}
+}
@@ -0,0 +1,65 @@
+package com.capgemini.chess.algorithms.bitboard;
+
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Helpers for 64-bit board masks. Square index 0 is (0, 0), index 7 is (7, 0)
+ * and index 63 is (7, 7), i.e. {@code index = y * 8 + x}.
+ *
+ */
+public final class Bitboards {
+
+	public static final long EMPTY = 0L;
+	public static final long FULL = -1L;
+
+	private Bitboards() {
+	}
+
+	/**
+	 * Calculates square index for given coordinates
+	 *
+	 * @param x
+	 *            column, 0 - 7
+	 * @param y
+	 *            row, 0 - 7
+	 * @return square index, 0 - 63
+	 */
+	public static int square(int x, int y) {
+		return y * Board.SIZE + x;
+	}
+
+	public static int x(int square) {
+		return square & (Board.SIZE - 1);
+	}
+
+	public static int y(int square) {
+		return square >>> 3;
+	}
+
+	public static boolean isOnBoard(int x, int y) {
+		return (x | y) >= 0 && x < Board.SIZE && y < Board.SIZE;
+	}
+
+	public static long bit(int square) {
+		return 1L << square;
+	}
+
+	public static boolean contains(long bitboard, int square) {
+		return (bitboard & (1L << square)) != 0;
+	}
+
+	/**
+	 * Returns index of the lowest set square, 64 for empty bitboard
+	 *
+	 * @param bitboard
+	 *            mask of squares
+	 * @return square index
+	 */
+	public static int lowestSquare(long bitboard) {
+		return Long.numberOfTrailingZeros(bitboard);
+	}
+
+	public static int count(long bitboard) {
+		return Long.bitCount(bitboard);
+	}
+}
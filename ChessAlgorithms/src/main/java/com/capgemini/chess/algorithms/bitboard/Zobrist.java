@@ -0,0 +1,76 @@
+package com.capgemini.chess.algorithms.bitboard;
+
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Random keys for Zobrist hashing of positions. Position key is XOR of keys of
+ * all pieces on their squares, side to move, castling rights and en passant
+ * column. Keys are generated from a fixed seed, so position keys are stable
+ * between runs and can be stored.
+ *
+ */
+public final class Zobrist {
+
+	private static final long SEED = 0x3C6EF372FE94F82BL;
+
+	private static final long[][] PIECE_SQUARE_KEYS = new long[Piece.values().length][Board.SIZE * Board.SIZE];
+	private static final long BLACK_TO_MOVE_KEY;
+	private static final long[] CASTLING_KEYS = new long[16];
+	private static final long[] EN_PASSANT_KEYS = new long[Board.SIZE];
+
+	static {
+		long state = SEED;
+		for (long[] squareKeys : PIECE_SQUARE_KEYS) {
+			for (int square = 0; square < squareKeys.length; square++) {
+				state += 0x9E3779B97F4A7C15L;
+				squareKeys[square] = mix(state);
+			}
+		}
+		state += 0x9E3779B97F4A7C15L;
+		BLACK_TO_MOVE_KEY = mix(state);
+		// no castling rights hash to zero
+		for (int rights = 1; rights < CASTLING_KEYS.length; rights++) {
+			state += 0x9E3779B97F4A7C15L;
+			CASTLING_KEYS[rights] = mix(state);
+		}
+		for (int x = 0; x < EN_PASSANT_KEYS.length; x++) {
+			state += 0x9E3779B97F4A7C15L;
+			EN_PASSANT_KEYS[x] = mix(state);
+		}
+	}
+
+	private Zobrist() {
+	}
+
+	public static long pieceKey(Piece piece, int square) {
+		return PIECE_SQUARE_KEYS[piece.ordinal()][square];
+	}
+
+	public static long blackToMoveKey() {
+		return BLACK_TO_MOVE_KEY;
+	}
+
+	/**
+	 * Gets key of castling rights
+	 *
+	 * @param castlingRights
+	 *            rights bit mask, 0 - 15
+	 * @return key of the rights
+	 */
+	public static long castlingKey(int castlingRights) {
+		return CASTLING_KEYS[castlingRights];
+	}
+
+	public static long enPassantKey(int x) {
+		return EN_PASSANT_KEYS[x];
+	}
+
+	// splitmix64 finalizer
+	private static long mix(long value) {
+		long z = value;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
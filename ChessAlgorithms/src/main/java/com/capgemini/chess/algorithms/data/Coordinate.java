@@ -1,21 +1,61 @@
 package com.capgemini.chess.algorithms.data;
 
+import com.capgemini.chess.algorithms.data.generated.Board;
+
 /**
- * Coordinates of Chess Piece.
+ * Coordinates of Chess Piece. Coordinates of the board squares are cached,
+ * use {@link #of(int, int)} or {@link #ofIndex(int)} instead of the
+ * constructor.
  * 
  * @author Michal Bejm
  *
  */
 public class Coordinate {
 
-	private int x;
-	private int y;
+	private static final Coordinate[] SQUARES = new Coordinate[Board.SIZE * Board.SIZE];
+
+	static {
+		for (int index = 0; index < SQUARES.length; index++) {
+			SQUARES[index] = new Coordinate(index % Board.SIZE, index / Board.SIZE);
+		}
+	}
+
+	private final int x;
+	private final int y;
 
 	public Coordinate(int x, int y) {
 		this.x = x;
 		this.y = y;
 	}
 
+	/**
+	 * Gets coordinates of given column and row. Coordinates outside of the
+	 * board are created on demand, so they can still be validated.
+	 * 
+	 * @param x
+	 *            column
+	 * @param y
+	 *            row
+	 * @return cached coordinates if they are on the board, new ones otherwise
+	 */
+	public static Coordinate of(int x, int y) {
+		if (x >= 0 && x < Board.SIZE && y >= 0 && y < Board.SIZE) {
+			return SQUARES[y * Board.SIZE + x];
+		}
+		return new Coordinate(x, y);
+	}
+
+	/**
+	 * Gets coordinates of given square index
+	 * 
+	 * @param index
+	 *            square index, {@code y * 8 + x}
+	 * @return cached coordinates
+	 */
+	public static Coordinate ofIndex(int index) {
+		return SQUARES[index];
+	}
+
 	public int getX() {
 		return x;
 	}
@@ -24,6 +64,15 @@ public class Coordinate {
 		return y;
 	}
 
+	/**
+	 * Gets square index of the coordinates, only meaningful on the board
+	 * 
+	 * @return {@code y * 8 + x}
+	 */
+	public int getIndex() {
+		return y * Board.SIZE + x;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
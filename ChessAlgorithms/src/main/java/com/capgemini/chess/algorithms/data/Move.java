@@ -2,6 +2,7 @@ package com.capgemini.chess.algorithms.data;
 
 import com.capgemini.chess.algorithms.data.enums.MoveType;
 import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
 
 /**
  * Chess move definition.
@@ -15,6 +16,7 @@ public class Move {
 	private Coordinate to;
 	private MoveType type;
 	private Piece movedPiece;
+	private PieceType promotion;
 
 	public Coordinate getFrom() {
 		return from;
@@ -47,4 +49,18 @@ public class Move {
 	public void setMovedPiece(Piece movedPiece) {
 		this.movedPiece = movedPiece;
 	}
+
+	/**
+	 * Gets type of piece the pawn is promoted to
+	 * 
+	 * @return promotion piece type, null if not set; pawn reaching the last
+	 *         row without promotion type is promoted to queen
+	 */
+	public PieceType getPromotion() {
+		return promotion;
+	}
+
+	public void setPromotion(PieceType promotion) {
+		this.promotion = promotion;
+	}
 }
@@ -0,0 +1,77 @@
+package com.capgemini.chess.algorithms.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Growable list of moves in {@link PackedMove} int encoding. Lists are meant
+ * to be reused, {@link #clear()} keeps the allocated array.
+ *
+ */
+public class MoveList {
+
+	private static final int DEFAULT_CAPACITY = 256;
+
+	private int[] moves;
+	private int size;
+
+	public MoveList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public MoveList(int capacity) {
+		this.moves = new int[Math.max(1, capacity)];
+	}
+
+	public void add(int move) {
+		if (size == moves.length) {
+			moves = Arrays.copyOf(moves, 2 * moves.length);
+		}
+		moves[size++] = move;
+	}
+
+	public int get(int index) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+		}
+		return moves[index];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Converts moves to move beans
+	 *
+	 * @return new list of new move objects
+	 */
+	public List<Move> toMoves() {
+		List<Move> result = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			result.add(PackedMove.toMove(moves[i]));
+		}
+		return result;
+	}
+
+	/**
+	 * Adds move beans to the list
+	 *
+	 * @param moves
+	 *            moves with coordinates on the board
+	 */
+	public void addAll(List<Move> moves) {
+		for (Move move : moves) {
+			add(PackedMove.fromMove(move));
+		}
+	}
+}
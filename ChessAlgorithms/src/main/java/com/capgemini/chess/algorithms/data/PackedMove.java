@@ -0,0 +1,187 @@
+package com.capgemini.chess.algorithms.data;
+
+import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
+
+/**
+ * Primitive encoding of chess moves.
+ * <p>
+ * Int encoding, from the lowest bit: from square (6 bits), to square (6 bits),
+ * move type (2 bits), promotion piece type + 1 (3 bits, 0 if none) and moved
+ * piece + 1 (4 bits, 0 if unknown). Square index is {@code y * 8 + x}.
+ * <p>
+ * Short encoding keeps from and to squares in the lowest 12 bits and packs
+ * move type with promotion into the highest 4 bits. Moved piece is not
+ * stored, it can be read from the board when the move is replayed.
+ *
+ */
+public final class PackedMove {
+
+	private static final MoveType[] MOVE_TYPES = MoveType.values();
+	private static final PieceType[] PIECE_TYPES = PieceType.values();
+	private static final Piece[] PIECES = Piece.values();
+
+	private static final int SQUARE_BITS = 6;
+	private static final int SQUARE_MASK = (1 << SQUARE_BITS) - 1;
+	private static final int TYPE_SHIFT = 2 * SQUARE_BITS;
+	private static final int TYPE_MASK = 3;
+	private static final int PROMOTION_SHIFT = TYPE_SHIFT + 2;
+	private static final int PROMOTION_MASK = 7;
+	private static final int MOVED_PIECE_SHIFT = PROMOTION_SHIFT + 3;
+	private static final int MOVED_PIECE_MASK = 15;
+
+	private static final int SHORT_FLAGS_SHIFT = 2 * SQUARE_BITS;
+	private static final int SHORT_SQUARES_MASK = (1 << SHORT_FLAGS_SHIFT) - 1;
+	private static final int SHORT_PROMOTION_FLAGS = 4;
+	private static final PieceType[] SHORT_PROMOTIONS = { PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP,
+			PieceType.KNIGHT };
+
+	private PackedMove() {
+	}
+
+	/**
+	 * Encodes move without promotion
+	 *
+	 * @param from
+	 *            from square index
+	 * @param to
+	 *            to square index
+	 * @param type
+	 *            move type
+	 * @param movedPiece
+	 *            moved piece, may be null
+	 * @return packed move
+	 */
+	public static int of(int from, int to, MoveType type, Piece movedPiece) {
+		return of(from, to, type, movedPiece, null);
+	}
+
+	/**
+	 * Encodes move
+	 *
+	 * @param from
+	 *            from square index
+	 * @param to
+	 *            to square index
+	 * @param type
+	 *            move type
+	 * @param movedPiece
+	 *            moved piece, may be null
+	 * @param promotion
+	 *            type of piece the pawn is promoted to, null if none
+	 * @return packed move
+	 */
+	public static int of(int from, int to, MoveType type, Piece movedPiece, PieceType promotion) {
+		return from | to << SQUARE_BITS | type.ordinal() << TYPE_SHIFT | codeOf(promotion) << PROMOTION_SHIFT
+				| codeOf(movedPiece) << MOVED_PIECE_SHIFT;
+	}
+
+	public static int from(int move) {
+		return move & SQUARE_MASK;
+	}
+
+	public static int to(int move) {
+		return (move >>> SQUARE_BITS) & SQUARE_MASK;
+	}
+
+	public static MoveType type(int move) {
+		return MOVE_TYPES[(move >>> TYPE_SHIFT) & TYPE_MASK];
+	}
+
+	/**
+	 * Gets type of piece the pawn is promoted to
+	 *
+	 * @param move
+	 *            packed move
+	 * @return promotion piece type, null if the move is not a promotion
+	 */
+	public static PieceType promotion(int move) {
+		int code = (move >>> PROMOTION_SHIFT) & PROMOTION_MASK;
+		return code == 0 ? null : PIECE_TYPES[code - 1];
+	}
+
+	/**
+	 * Gets moved piece
+	 *
+	 * @param move
+	 *            packed move
+	 * @return moved piece, null if not encoded
+	 */
+	public static Piece movedPiece(int move) {
+		int code = (move >>> MOVED_PIECE_SHIFT) & MOVED_PIECE_MASK;
+		return code == 0 ? null : PIECES[code - 1];
+	}
+
+	/**
+	 * Encodes move bean
+	 *
+	 * @param move
+	 *            chess move, its coordinates must be on the board
+	 * @return packed move
+	 */
+	public static int fromMove(Move move) {
+		return of(move.getFrom().getIndex(), move.getTo().getIndex(), move.getType(), move.getMovedPiece(),
+				move.getPromotion());
+	}
+
+	/**
+	 * Decodes move bean
+	 *
+	 * @param move
+	 *            packed move
+	 * @return new move object
+	 */
+	public static Move toMove(int move) {
+		Move result = new Move();
+		result.setFrom(Coordinate.ofIndex(from(move)));
+		result.setTo(Coordinate.ofIndex(to(move)));
+		result.setType(type(move));
+		result.setMovedPiece(movedPiece(move));
+		result.setPromotion(promotion(move));
+		return result;
+	}
+
+	/**
+	 * Converts move to the 16-bit encoding, moved piece is dropped
+	 *
+	 * @param move
+	 *            packed move
+	 * @return 16-bit move
+	 */
+	public static short toShort(int move) {
+		int flags = (move >>> TYPE_SHIFT) & TYPE_MASK;
+		PieceType promotion = promotion(move);
+		if (promotion != null) {
+			int promotionIndex = 0;
+			while (SHORT_PROMOTIONS[promotionIndex] != promotion) {
+				promotionIndex++;
+			}
+			flags = SHORT_PROMOTION_FLAGS + (type(move) == MoveType.CAPTURE ? SHORT_PROMOTION_FLAGS : 0)
+					+ promotionIndex;
+		}
+		return (short) ((move & SHORT_SQUARES_MASK) | flags << SHORT_FLAGS_SHIFT);
+	}
+
+	/**
+	 * Converts 16-bit move to the int encoding, without moved piece
+	 *
+	 * @param move
+	 *            16-bit move
+	 * @return packed move
+	 */
+	public static int fromShort(short move) {
+		int squares = move & SHORT_SQUARES_MASK;
+		int flags = (move & 0xFFFF) >>> SHORT_FLAGS_SHIFT;
+		if (flags < SHORT_PROMOTION_FLAGS) {
+			return squares | flags << TYPE_SHIFT;
+		}
+		MoveType type = flags < 2 * SHORT_PROMOTION_FLAGS ? MoveType.ATTACK : MoveType.CAPTURE;
+		PieceType promotion = SHORT_PROMOTIONS[(flags - SHORT_PROMOTION_FLAGS) % SHORT_PROMOTION_FLAGS];
+		return squares | type.ordinal() << TYPE_SHIFT | codeOf(promotion) << PROMOTION_SHIFT;
+	}
+
+	private static int codeOf(Enum<?> value) {
+		return value == null ? 0 : value.ordinal() + 1;
+	}
+}
@@ -0,0 +1,22 @@
+package com.capgemini.chess.algorithms.data.enums;
+
+/**
+ * Result of move validation, either {@link #VALID} or the reason the move was
+ * rejected
+ * 
+ */
+public enum MoveValidationResult {
+	VALID,
+	INVALID_COORDINATES,
+	NO_PIECE_TO_MOVE,
+	OPPONENT_PIECE_TO_MOVE,
+	OWN_PIECE_AT_DESTINATION,
+	ILLEGAL_PIECE_MOVE,
+	ROAD_BLOCKED,
+	INVALID_PROMOTION,
+	KING_IN_CHECK;
+
+	public boolean isValid() {
+		return this == VALID;
+	}
+}
@@ -21,6 +21,14 @@ public enum Piece {
     BLACK_ROOK(PieceType.ROOK, Color.BLACK),
     BLACK_PAWN(PieceType.PAWN, Color.BLACK);
 
+    private static final Piece[][] PIECES_BY_COLOR_AND_TYPE = new Piece[Color.values().length][PieceType.values().length];
+
+    static {
+        for (Piece piece : values()) {
+            PIECES_BY_COLOR_AND_TYPE[piece.color.ordinal()][piece.type.ordinal()] = piece;
+        }
+    }
+
     private final PieceType type;
     private final Color color;
 
@@ -36,4 +44,15 @@ public enum Piece {
 	public Color getColor() {
 		return color;
 	}
+
+	/**
+	 * Gets piece of given color and type
+	 *
+	 * @param color piece color
+	 * @param type piece type
+	 * @return chess piece
+	 */
+	public static Piece of(Color color, PieceType type) {
+		return PIECES_BY_COLOR_AND_TYPE[color.ordinal()][type.ordinal()];
+	}
 }
@@ -1,45 +1,171 @@
 package com.capgemini.chess.algorithms.data.generated;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import com.capgemini.chess.algorithms.bitboard.AttackTables;
+import com.capgemini.chess.algorithms.bitboard.Bitboards;
+import com.capgemini.chess.algorithms.bitboard.Zobrist;
 import com.capgemini.chess.algorithms.data.Coordinate;
 import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.PackedMove;
 import com.capgemini.chess.algorithms.data.enums.BoardState;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.MoveType;
 import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
 
 /**
  * Board representation.
  * Board objects are generated based on move history.
  * 
+ * Besides the piece array, the board keeps one 64-bit mask per piece,
+ * occupancy masks per color and Zobrist key of the pieces, all of them updated
+ * by {@link #setPieceAt(Piece, Coordinate)}.
+ * 
  * @author Michal Bejm
  *
  */
 public class Board {
 	
 	public static final int SIZE = 8;
+	public static final int NO_SQUARE = SIZE * SIZE;
+	
+	public static final int WHITE_KING_SIDE_CASTLING = 1;
+	public static final int WHITE_QUEEN_SIDE_CASTLING = 2;
+	public static final int BLACK_KING_SIDE_CASTLING = 4;
+	public static final int BLACK_QUEEN_SIDE_CASTLING = 8;
+	public static final int ALL_CASTLING_RIGHTS = 15;
+	
+	private static final Piece[] PIECES = Piece.values();
+	private static final int SQUARE_BITS = 6;
+	private static final int SQUARE_MASK = (1 << SQUARE_BITS) - 1;
+	private static final int PIECE_BITS = 4;
+	private static final int PIECE_MASK = (1 << PIECE_BITS) - 1;
+	private static final int CAPTURED_SQUARE_SHIFT = 2 * SQUARE_BITS;
+	private static final int MOVED_PIECE_SHIFT = 3 * SQUARE_BITS;
+	private static final int CAPTURED_PIECE_SHIFT = MOVED_PIECE_SHIFT + PIECE_BITS;
+	private static final int CASTLING_RIGHTS_SHIFT = CAPTURED_PIECE_SHIFT + PIECE_BITS;
+	private static final int CASTLING_RIGHTS_MASK = ALL_CASTLING_RIGHTS;
+	private static final int EN_PASSANT_SHIFT = CASTLING_RIGHTS_SHIFT + 4;
+	private static final int EN_PASSANT_MASK = (1 << (SQUARE_BITS + 1)) - 1;
+	private static final int HISTORY_INDEX_SHIFT = 40;
+	private static final int INITIAL_UNDO_CAPACITY = 64;
+	
+	private static final int KING_START_X = 4;
+	private static final int[] CASTLING_RIGHTS_KEPT = new int[NO_SQUARE];
+	
+	static {
+		Arrays.fill(CASTLING_RIGHTS_KEPT, ALL_CASTLING_RIGHTS);
+		CASTLING_RIGHTS_KEPT[Bitboards.square(KING_START_X, 0)] &= ~(WHITE_KING_SIDE_CASTLING
+				| WHITE_QUEEN_SIDE_CASTLING);
+		CASTLING_RIGHTS_KEPT[Bitboards.square(SIZE - 1, 0)] &= ~WHITE_KING_SIDE_CASTLING;
+		CASTLING_RIGHTS_KEPT[Bitboards.square(0, 0)] &= ~WHITE_QUEEN_SIDE_CASTLING;
+		CASTLING_RIGHTS_KEPT[Bitboards.square(KING_START_X, SIZE - 1)] &= ~(BLACK_KING_SIDE_CASTLING
+				| BLACK_QUEEN_SIDE_CASTLING);
+		CASTLING_RIGHTS_KEPT[Bitboards.square(SIZE - 1, SIZE - 1)] &= ~BLACK_KING_SIDE_CASTLING;
+		CASTLING_RIGHTS_KEPT[Bitboards.square(0, SIZE - 1)] &= ~BLACK_QUEEN_SIDE_CASTLING;
+	}
 	
 	private Piece[][] pieces = new Piece[SIZE][SIZE];
+	private long[] pieceBitboards = new long[PIECES.length];
+	private long[] colorOccupancy = new long[Color.values().length];
+	private long occupancy;
+	private int[] kingSquares = { NO_SQUARE, NO_SQUARE };
+	private long piecesKey;
+	private int castlingRights = ALL_CASTLING_RIGHTS;
+	private int enPassantSquare = NO_SQUARE;
+	private int enPassantPly = -1;
 	private List<Move> moveHistory = new ArrayList<>();
 	private BoardState state;
+	private long stateKey;
+	private long[] undoStack = new long[INITIAL_UNDO_CAPACITY];
+	private int undoStackSize;
+	private long[] positionKeys = new long[INITIAL_UNDO_CAPACITY];
+	private int[] repetitionStarts = new int[INITIAL_UNDO_CAPACITY];
+	private int positionKeyCount;
+	private int repetitionStart;
+	private int[] halfmoveClocks = new int[INITIAL_UNDO_CAPACITY];
+	private int halfmoveClock;
+	private int halfmoveClockPly;
+	private int startPly;
 	
 	public Board() {
 	}
+	
+	/**
+	 * Creates copy of given board. Move history list is copied, moves
+	 * themselves are shared.
+	 * 
+	 * @param board board to copy
+	 */
+	public Board(Board board) {
+		for (int x = 0; x < SIZE; x++) {
+			this.pieces[x] = board.pieces[x].clone();
+		}
+		this.pieceBitboards = board.pieceBitboards.clone();
+		this.colorOccupancy = board.colorOccupancy.clone();
+		this.occupancy = board.occupancy;
+		this.kingSquares = board.kingSquares.clone();
+		this.piecesKey = board.piecesKey;
+		this.castlingRights = board.castlingRights;
+		this.enPassantSquare = board.enPassantSquare;
+		this.enPassantPly = board.enPassantPly;
+		this.moveHistory = new ArrayList<>(board.moveHistory);
+		this.state = board.state;
+		this.stateKey = board.stateKey;
+		this.undoStack = board.undoStack.clone();
+		this.undoStackSize = board.undoStackSize;
+		this.positionKeys = board.positionKeys.clone();
+		this.repetitionStarts = board.repetitionStarts.clone();
+		this.positionKeyCount = board.positionKeyCount;
+		this.repetitionStart = board.repetitionStart;
+		this.halfmoveClocks = board.halfmoveClocks.clone();
+		this.halfmoveClock = board.halfmoveClock;
+		this.halfmoveClockPly = board.halfmoveClockPly;
+		this.startPly = board.startPly;
+	}
 
 	public List<Move> getMoveHistory() {
 		return moveHistory;
 	}
 
+	/**
+	 * Gets copy of piece array, pieces are placed with
+	 * {@link #setPieceAt(Piece, Coordinate)}
+	 * 
+	 * @return new array of pieces indexed by [x][y]
+	 */
 	public Piece[][] getPieces() {
-		return pieces;
+		Piece[][] copy = new Piece[SIZE][];
+		for (int x = 0; x < SIZE; x++) {
+			copy[x] = pieces[x].clone();
+		}
+		return copy;
 	}
 
+	/**
+	 * Gets state of the current position stored with
+	 * {@link #setState(BoardState)}. The state is cleared whenever pieces,
+	 * side to move, castling rights or en passant square change, and it is
+	 * checked against the position key, so a state of an earlier position is
+	 * never returned.
+	 * 
+	 * @return board state, null if it was not set for the current position
+	 */
 	public BoardState getState() {
-		return state;
+		return state != null && stateKey == getPositionKey() ? state : null;
 	}
 
+	/**
+	 * Stores state of the current position
+	 * 
+	 * @param state board state
+	 */
 	public void setState(BoardState state) {
 		this.state = state;
+		this.stateKey = getPositionKey();
 	}
 	
 	/**
@@ -50,7 +176,12 @@ public class Board {
 	 * @param coordinate given coordinates
 	 */
 	public void setPieceAt(Piece piece, Coordinate coordinate) {
-		pieces[coordinate.getX()][coordinate.getY()] = piece;
+		int x = coordinate.getX();
+		int y = coordinate.getY();
+		Piece previousPiece = pieces[x][y];
+		pieces[x][y] = piece;
+		state = null;
+		updateBitboards(previousPiece, piece, Bitboards.square(x, y));
 	}
 	
 	/**
@@ -62,4 +193,604 @@ public class Board {
 	public Piece getPieceAt(Coordinate coordinate) {
 		return pieces[coordinate.getX()][coordinate.getY()];
 	}
+	
+	/**
+	 * Sets chess piece on board based on given square index
+	 * 
+	 * @param piece chess piece
+	 * @param square square index, 0 - 63
+	 */
+	public void setPieceAt(Piece piece, int square) {
+		int x = Bitboards.x(square);
+		int y = Bitboards.y(square);
+		Piece previousPiece = pieces[x][y];
+		pieces[x][y] = piece;
+		state = null;
+		updateBitboards(previousPiece, piece, square);
+	}
+	
+	/**
+	 * Gets chess piece from board based on given square index
+	 * 
+	 * @param square square index, 0 - 63
+	 * @return chess piece
+	 */
+	public Piece getPieceAt(int square) {
+		return pieces[Bitboards.x(square)][Bitboards.y(square)];
+	}
+	
+	/**
+	 * Gets mask of squares occupied by given piece
+	 * 
+	 * @param piece chess piece
+	 * @return bitboard of the piece
+	 */
+	public long getBitboard(Piece piece) {
+		return pieceBitboards[piece.ordinal()];
+	}
+	
+	/**
+	 * Gets mask of squares occupied by pieces of given color
+	 * 
+	 * @param color pieces color
+	 * @return occupancy bitboard of the color
+	 */
+	public long getOccupancy(Color color) {
+		return colorOccupancy[color.ordinal()];
+	}
+	
+	/**
+	 * Gets mask of all occupied squares
+	 * 
+	 * @return occupancy bitboard
+	 */
+	public long getOccupancy() {
+		return occupancy;
+	}
+	
+	/**
+	 * Gets square of the king of given color
+	 * 
+	 * @param color king color
+	 * @return square index, {@link #NO_SQUARE} if there is no such king
+	 */
+	public int getKingSquare(Color color) {
+		return kingSquares[color.ordinal()];
+	}
+	
+	/**
+	 * Gets pieces of given color attacking given square. Sliding pieces are
+	 * blocked by given occupancy, which allows testing squares as if some
+	 * pieces were moved.
+	 * 
+	 * @param square attacked square index
+	 * @param attackerColor color of attacking pieces
+	 * @param occupancy occupied squares blocking sliding pieces
+	 * @return bitboard of attacking pieces
+	 */
+	public long getAttackers(int square, Color attackerColor, long occupancy) {
+		Color defenderColor = attackerColor == Color.WHITE ? Color.BLACK : Color.WHITE;
+		long queens = getBitboard(Piece.of(attackerColor, PieceType.QUEEN));
+		return (AttackTables.pawnAttacks(defenderColor, square)
+				& getBitboard(Piece.of(attackerColor, PieceType.PAWN)))
+				| (AttackTables.knightAttacks(square) & getBitboard(Piece.of(attackerColor, PieceType.KNIGHT)))
+				| (AttackTables.kingAttacks(square) & getBitboard(Piece.of(attackerColor, PieceType.KING)))
+				| (AttackTables.bishopAttacks(square, occupancy)
+						& (getBitboard(Piece.of(attackerColor, PieceType.BISHOP)) | queens))
+				| (AttackTables.rookAttacks(square, occupancy)
+						& (getBitboard(Piece.of(attackerColor, PieceType.ROOK)) | queens));
+	}
+	
+	/**
+	 * Checks if given square is attacked by any piece of given color
+	 * 
+	 * @param square square index
+	 * @param attackerColor color of attacking pieces
+	 * @return true if the square is attacked, false otherwise
+	 */
+	public boolean isSquareAttacked(int square, Color attackerColor) {
+		return getAttackers(square, attackerColor, occupancy) != Bitboards.EMPTY;
+	}
+	
+	/**
+	 * Checks if given square is attacked by any piece of given color
+	 * 
+	 * @param coordinate square coordinates
+	 * @param attackerColor color of attacking pieces
+	 * @return true if the square is attacked, false otherwise
+	 */
+	public boolean isSquareAttacked(Coordinate coordinate, Color attackerColor) {
+		return isSquareAttacked(coordinate.getIndex(), attackerColor);
+	}
+	
+	/**
+	 * Removes all pieces and move history, so the board can be reused for
+	 * another position. Array capacities are kept.
+	 */
+	public void clear() {
+		for (int x = 0; x < SIZE; x++) {
+			Arrays.fill(pieces[x], null);
+		}
+		Arrays.fill(pieceBitboards, Bitboards.EMPTY);
+		Arrays.fill(colorOccupancy, Bitboards.EMPTY);
+		occupancy = Bitboards.EMPTY;
+		Arrays.fill(kingSquares, NO_SQUARE);
+		piecesKey = 0L;
+		castlingRights = ALL_CASTLING_RIGHTS;
+		enPassantSquare = NO_SQUARE;
+		enPassantPly = -1;
+		moveHistory.clear();
+		state = null;
+		undoStackSize = 0;
+		positionKeyCount = 0;
+		repetitionStart = 0;
+		halfmoveClock = 0;
+		halfmoveClockPly = 0;
+		startPly = 0;
+	}
+	
+	/**
+	 * Gets color of the side to move, which is derived from move history and
+	 * from the side to move of the position the history starts from
+	 * 
+	 * @return color of the side to move
+	 */
+	public Color getSideToMove() {
+		return (startPly + moveHistory.size()) % 2 == 0 ? Color.WHITE : Color.BLACK;
+	}
+	
+	/**
+	 * Sets side to move of the current position, e.g. when the position is
+	 * loaded from an external format
+	 * 
+	 * @param color color of the side to move
+	 */
+	public void setSideToMove(Color color) {
+		if (getSideToMove() != color) {
+			startPly++;
+			state = null;
+		}
+	}
+	
+	/**
+	 * Gets number of the full move, starting at 1 and incremented after each
+	 * black move
+	 * 
+	 * @return fullmove number
+	 */
+	public int getFullmoveNumber() {
+		return (startPly + moveHistory.size()) / 2 + 1;
+	}
+	
+	/**
+	 * Sets fullmove number of the current position, side to move is kept
+	 * 
+	 * @param fullmoveNumber fullmove number, starting at 1
+	 */
+	public void setFullmoveNumber(int fullmoveNumber) {
+		int sideToMovePly = getSideToMove() == Color.WHITE ? 0 : 1;
+		startPly = 2 * (fullmoveNumber - 1) + sideToMovePly - moveHistory.size();
+	}
+	
+	/**
+	 * Gets castling right of given side
+	 * 
+	 * @param color king color
+	 * @param kingSide true for castling with rook in column 7, false for
+	 *            column 0
+	 * @return single right bit, see {@link #getCastlingRights()}
+	 */
+	public static int castlingRight(Color color, boolean kingSide) {
+		if (color == Color.WHITE) {
+			return kingSide ? WHITE_KING_SIDE_CASTLING : WHITE_QUEEN_SIDE_CASTLING;
+		}
+		return kingSide ? BLACK_KING_SIDE_CASTLING : BLACK_QUEEN_SIDE_CASTLING;
+	}
+	
+	/**
+	 * Gets castling rights which are still available: neither king nor rook
+	 * has moved and both stand on their initial squares.
+	 * 
+	 * @return rights bit mask, see {@link #WHITE_KING_SIDE_CASTLING} etc.
+	 */
+	public int getCastlingRights() {
+		int rights = castlingRights;
+		if (getPieceAt(Bitboards.square(KING_START_X, 0)) != Piece.WHITE_KING) {
+			rights &= ~(WHITE_KING_SIDE_CASTLING | WHITE_QUEEN_SIDE_CASTLING);
+		}
+		if (getPieceAt(Bitboards.square(SIZE - 1, 0)) != Piece.WHITE_ROOK) {
+			rights &= ~WHITE_KING_SIDE_CASTLING;
+		}
+		if (getPieceAt(Bitboards.square(0, 0)) != Piece.WHITE_ROOK) {
+			rights &= ~WHITE_QUEEN_SIDE_CASTLING;
+		}
+		if (getPieceAt(Bitboards.square(KING_START_X, SIZE - 1)) != Piece.BLACK_KING) {
+			rights &= ~(BLACK_KING_SIDE_CASTLING | BLACK_QUEEN_SIDE_CASTLING);
+		}
+		if (getPieceAt(Bitboards.square(SIZE - 1, SIZE - 1)) != Piece.BLACK_ROOK) {
+			rights &= ~BLACK_KING_SIDE_CASTLING;
+		}
+		if (getPieceAt(Bitboards.square(0, SIZE - 1)) != Piece.BLACK_ROOK) {
+			rights &= ~BLACK_QUEEN_SIDE_CASTLING;
+		}
+		return rights;
+	}
+	
+	/**
+	 * Sets castling rights of the current position. Rights of a king or rook
+	 * not standing on its initial square are ignored.
+	 * 
+	 * @param castlingRights rights bit mask, see
+	 *            {@link #WHITE_KING_SIDE_CASTLING} etc.
+	 */
+	public void setCastlingRights(int castlingRights) {
+		this.castlingRights = castlingRights & ALL_CASTLING_RIGHTS;
+		this.state = null;
+	}
+	
+	/**
+	 * Gets square skipped by pawn which has just moved two squares forward.
+	 * The square is set by {@link #makeMove(Move)} or loaded with
+	 * {@link #setEnPassantSquare(int)}; after a move added to move history
+	 * directly, it is derived from that move.
+	 * 
+	 * @return square index, {@link #NO_SQUARE} if last move was not such a
+	 *         pawn move
+	 */
+	public int getEnPassantSquare() {
+		int ply = moveHistory.size();
+		if (enPassantPly == ply) {
+			return enPassantSquare;
+		}
+		if (ply == 0) {
+			return NO_SQUARE;
+		}
+		Move lastMove = moveHistory.get(ply - 1);
+		int from = lastMove.getFrom().getIndex();
+		int to = lastMove.getTo().getIndex();
+		Piece piece = getPieceAt(to);
+		boolean isPawnDoubleStep = piece != null && piece.getType() == PieceType.PAWN
+				&& Math.abs(to - from) == 2 * SIZE;
+		return isPawnDoubleStep ? (from + to) / 2 : NO_SQUARE;
+	}
+	
+	/**
+	 * Sets en passant square of the current position, e.g. when the position
+	 * is loaded from an external format
+	 * 
+	 * @param square square skipped by the last pawn move, {@link #NO_SQUARE}
+	 *            if there is none
+	 */
+	public void setEnPassantSquare(int square) {
+		this.enPassantSquare = square;
+		this.enPassantPly = moveHistory.size();
+		this.state = null;
+	}
+	
+	/**
+	 * Gets Zobrist key of the position: pieces, side to move, castling rights
+	 * and en passant column, the last one only if a pawn of the side to move
+	 * stands next to the pawn which can be captured.
+	 * 
+	 * @return 64-bit position key
+	 */
+	public long getPositionKey() {
+		long key = piecesKey ^ Zobrist.castlingKey(getCastlingRights());
+		Color sideToMove = getSideToMove();
+		if (sideToMove == Color.BLACK) {
+			key ^= Zobrist.blackToMoveKey();
+		}
+		int enPassant = getEnPassantSquare();
+		if (enPassant != NO_SQUARE) {
+			Color opponent = sideToMove == Color.WHITE ? Color.BLACK : Color.WHITE;
+			long capturingPawns = AttackTables.pawnAttacks(opponent, enPassant)
+					& getBitboard(Piece.of(sideToMove, PieceType.PAWN));
+			if (capturingPawns != Bitboards.EMPTY) {
+				key ^= Zobrist.enPassantKey(Bitboards.x(enPassant));
+			}
+		}
+		return key;
+	}
+	
+	/**
+	 * Performs move on the board and adds it to move history. Move is not
+	 * validated. Captured piece is remembered, so the move can be taken back
+	 * with {@link #unmakeMove()}.
+	 * 
+	 * @param move move to perform
+	 */
+	public void makeMove(Move move) {
+		int from = move.getFrom().getIndex();
+		int to = move.getTo().getIndex();
+		int capturedSquare = to;
+		if (move.getType() == MoveType.EN_PASSANT) {
+			capturedSquare = Bitboards.square(move.getTo().getX(), move.getFrom().getY());
+		}
+		Piece movedPiece = getPieceAt(from);
+		Piece capturedPiece = getPieceAt(capturedSquare);
+
+		pushPlyState();
+		pushUndo((long) moveHistory.size() << HISTORY_INDEX_SHIFT | (long) getEnPassantSquare() << EN_PASSANT_SHIFT
+				| (long) castlingRights << CASTLING_RIGHTS_SHIFT | pieceCode(capturedPiece) << CAPTURED_PIECE_SHIFT
+				| pieceCode(movedPiece) << MOVED_PIECE_SHIFT | capturedSquare << CAPTURED_SQUARE_SHIFT
+				| to << SQUARE_BITS | from);
+
+		movePieces(from, to, capturedSquare, movedPiece, move.getType(), move.getPromotion());
+		moveHistory.add(move);
+		updateEnPassantSquare(from, to, movedPiece);
+		boolean resetsHalfmoveClock = resetsHalfmoveClock(move.getType(), movedPiece);
+		if (resetsHalfmoveClock || move.getType() == MoveType.CASTLING) {
+			repetitionStart = moveHistory.size();
+		}
+		halfmoveClock = resetsHalfmoveClock ? 0 : halfmoveClock + 1;
+		halfmoveClockPly = moveHistory.size();
+	}
+	
+	/**
+	 * Performs move given in {@link PackedMove} encoding, see
+	 * {@link #makeMove(Move)}
+	 * 
+	 * @param move packed move
+	 * @return move object added to move history
+	 */
+	public Move makeMove(int move) {
+		Move result = PackedMove.toMove(move);
+		makeMove(result);
+		return result;
+	}
+	
+	/**
+	 * Performs move given in {@link PackedMove} encoding without recording
+	 * it: no move object is created and neither move history nor undo stack
+	 * grow. The move cannot be taken back, moves performed before it cannot
+	 * be taken back any more and positions before it are not counted as
+	 * repetitions, as if the resulting position was loaded with
+	 * {@link #setSideToMove(Color)} and the other setters. Meant for
+	 * replaying stored games, where only the reached positions are needed.
+	 * 
+	 * @param move packed move, moved piece is read from the board
+	 */
+	public void playMove(int move) {
+		int from = PackedMove.from(move);
+		int to = PackedMove.to(move);
+		MoveType type = PackedMove.type(move);
+		int capturedSquare = type == MoveType.EN_PASSANT ? Bitboards.square(Bitboards.x(to), Bitboards.y(from)) : to;
+		Piece movedPiece = getPieceAt(from);
+
+		updateHalfmoveClock();
+		movePieces(from, to, capturedSquare, movedPiece, type, PackedMove.promotion(move));
+		startPly++;
+		updateEnPassantSquare(from, to, movedPiece);
+		undoStackSize = 0;
+		positionKeyCount = moveHistory.size();
+		repetitionStart = positionKeyCount;
+		halfmoveClock = resetsHalfmoveClock(type, movedPiece) ? 0 : halfmoveClock + 1;
+	}
+	
+	/**
+	 * Takes back the last move performed with {@link #makeMove(Move)} and
+	 * removes it from move history.
+	 * 
+	 * @return move taken back
+	 */
+	public Move unmakeMove() {
+		if (!canUnmakeMove()) {
+			throw new IllegalStateException("Last move was not performed on the board");
+		}
+		long undo = undoStack[--undoStackSize];
+		Move move = moveHistory.remove(moveHistory.size() - 1);
+
+		int from = (int) undo & SQUARE_MASK;
+		int to = (int) (undo >>> SQUARE_BITS) & SQUARE_MASK;
+		int capturedSquare = (int) (undo >>> CAPTURED_SQUARE_SHIFT) & SQUARE_MASK;
+		Piece movedPiece = pieceOf((int) (undo >>> MOVED_PIECE_SHIFT) & PIECE_MASK);
+		Piece capturedPiece = pieceOf((int) (undo >>> CAPTURED_PIECE_SHIFT) & PIECE_MASK);
+		castlingRights = (int) (undo >>> CASTLING_RIGHTS_SHIFT) & CASTLING_RIGHTS_MASK;
+		enPassantSquare = (int) (undo >>> EN_PASSANT_SHIFT) & EN_PASSANT_MASK;
+		enPassantPly = moveHistory.size();
+		positionKeyCount = moveHistory.size();
+		repetitionStart = repetitionStarts[positionKeyCount];
+		halfmoveClock = halfmoveClocks[positionKeyCount];
+		halfmoveClockPly = positionKeyCount;
+
+		if (move.getType() == MoveType.CASTLING) {
+			int rookX = from > to ? 0 : SIZE - 1;
+			int rookTo = from > to ? to + 1 : to - 1;
+			int rookFrom = Bitboards.square(rookX, Bitboards.y(from));
+			setPieceAt(getPieceAt(rookTo), rookFrom);
+			setPieceAt(null, rookTo);
+		}
+		setPieceAt(null, to);
+		setPieceAt(capturedPiece, capturedSquare);
+		setPieceAt(movedPiece, from);
+		return move;
+	}
+	
+	/**
+	 * Checks if the last move of move history was performed with
+	 * {@link #makeMove(Move)} and can be taken back.
+	 * 
+	 * @return true if {@link #unmakeMove()} can be called, false otherwise
+	 */
+	public boolean canUnmakeMove() {
+		return undoStackSize > 0
+				&& (int) (undoStack[undoStackSize - 1] >>> HISTORY_INDEX_SHIFT) == moveHistory.size() - 1;
+	}
+	
+	/**
+	 * Gets number of halfmoves since the last pawn move or capture. Moves
+	 * added to move history directly, without {@link #makeMove(Move)}, are
+	 * taken into account when the clock is read.
+	 * 
+	 * @return halfmove clock
+	 */
+	public int getHalfmoveClock() {
+		updateHalfmoveClock();
+		return halfmoveClock;
+	}
+	
+	/**
+	 * Sets halfmove clock of the current position, e.g. when the position is
+	 * loaded from an external format
+	 * 
+	 * @param halfmoveClock number of halfmoves since the last pawn move or
+	 *            capture
+	 */
+	public void setHalfmoveClock(int halfmoveClock) {
+		this.halfmoveClock = halfmoveClock;
+		this.halfmoveClockPly = moveHistory.size();
+	}
+	
+	/**
+	 * Counts earlier occurrences of the current position, see
+	 * {@link #getPositionKey()}. Only positions with the same side to move
+	 * reached after the last capture, pawn move or castling are compared, as
+	 * none of these moves can be reversed.
+	 * Positions before moves added to move history directly, without
+	 * {@link #makeMove(Move)}, are unknown and not counted.
+	 * 
+	 * @return number of earlier occurrences
+	 */
+	public int countRepetitions() {
+		int ply = moveHistory.size();
+		if (positionKeyCount != ply) {
+			return 0;
+		}
+		long key = getPositionKey();
+		int repetitions = 0;
+		for (int i = ply - 2; i >= repetitionStart; i -= 2) {
+			if (positionKeys[i] == key) {
+				repetitions++;
+			}
+		}
+		return repetitions;
+	}
+	
+	private void movePieces(int from, int to, int capturedSquare, Piece movedPiece, MoveType type,
+			PieceType promotion) {
+		addRegularMove(from, to, movedPiece, promotion);
+
+		if (type == MoveType.CASTLING) {
+			addCastling(from, to);
+		} else if (type == MoveType.EN_PASSANT) {
+			addEnPassant(capturedSquare);
+		}
+
+		castlingRights &= CASTLING_RIGHTS_KEPT[from] & CASTLING_RIGHTS_KEPT[to];
+	}
+	
+	private void addRegularMove(int from, int to, Piece movedPiece, PieceType promotion) {
+		setPieceAt(null, from);
+		setPieceAt(movedPiece, to);
+
+		performPromotion(to, movedPiece, promotion == null ? PieceType.QUEEN : promotion);
+	}
+
+	private void performPromotion(int to, Piece movedPiece, PieceType promotion) {
+		if (movedPiece == Piece.WHITE_PAWN && Bitboards.y(to) == (SIZE - 1)) {
+			setPieceAt(Piece.of(Color.WHITE, promotion), to);
+		}
+		if (movedPiece == Piece.BLACK_PAWN && Bitboards.y(to) == 0) {
+			setPieceAt(Piece.of(Color.BLACK, promotion), to);
+		}
+	}
+
+	private void addCastling(int from, int to) {
+		int y = Bitboards.y(from);
+		if (from > to) {
+			Piece rook = getPieceAt(Bitboards.square(0, y));
+			setPieceAt(null, Bitboards.square(0, y));
+			setPieceAt(rook, to + 1);
+		} else {
+			Piece rook = getPieceAt(Bitboards.square(SIZE - 1, y));
+			setPieceAt(null, Bitboards.square(SIZE - 1, y));
+			setPieceAt(rook, to - 1);
+		}
+	}
+
+	private void addEnPassant(int capturedSquare) {
+		setPieceAt(null, capturedSquare);
+	}
+	
+	private void updateEnPassantSquare(int from, int to, Piece movedPiece) {
+		boolean isPawnDoubleStep = movedPiece != null && movedPiece.getType() == PieceType.PAWN
+				&& Math.abs(to - from) == 2 * SIZE;
+		enPassantSquare = isPawnDoubleStep ? (from + to) / 2 : NO_SQUARE;
+		enPassantPly = moveHistory.size();
+	}
+	
+	private void updateHalfmoveClock() {
+		if (halfmoveClockPly > moveHistory.size()) {
+			halfmoveClock = 0;
+			halfmoveClockPly = 0;
+		}
+		for (; halfmoveClockPly < moveHistory.size(); halfmoveClockPly++) {
+			Move move = moveHistory.get(halfmoveClockPly);
+			halfmoveClock = resetsHalfmoveClock(move.getType(), move.getMovedPiece()) ? 0 : halfmoveClock + 1;
+		}
+	}
+	
+	private static boolean resetsHalfmoveClock(MoveType moveType, Piece movedPiece) {
+		return moveType == MoveType.CAPTURE || moveType == MoveType.EN_PASSANT
+				|| (movedPiece != null && movedPiece.getType() == PieceType.PAWN);
+	}
+	
+	private void pushPlyState() {
+		int ply = moveHistory.size();
+		if (positionKeyCount != ply) {
+			repetitionStart = ply;
+		}
+		if (ply >= positionKeys.length) {
+			int capacity = Math.max(2 * positionKeys.length, ply + 1);
+			positionKeys = Arrays.copyOf(positionKeys, capacity);
+			repetitionStarts = Arrays.copyOf(repetitionStarts, capacity);
+			halfmoveClocks = Arrays.copyOf(halfmoveClocks, capacity);
+		}
+		updateHalfmoveClock();
+		positionKeys[ply] = getPositionKey();
+		repetitionStarts[ply] = repetitionStart;
+		halfmoveClocks[ply] = halfmoveClock;
+		positionKeyCount = ply + 1;
+	}
+	
+	private void pushUndo(long undo) {
+		if (undoStackSize == undoStack.length) {
+			undoStack = Arrays.copyOf(undoStack, 2 * undoStack.length);
+		}
+		undoStack[undoStackSize++] = undo;
+	}
+	
+	private static long pieceCode(Piece piece) {
+		return piece == null ? 0 : piece.ordinal() + 1;
+	}
+	
+	private static Piece pieceOf(int pieceCode) {
+		return pieceCode == 0 ? null : PIECES[pieceCode - 1];
+	}
+	
+	private void updateBitboards(Piece previousPiece, Piece piece, int square) {
+		long mask = Bitboards.bit(square);
+		if (previousPiece != null) {
+			piecesKey ^= Zobrist.pieceKey(previousPiece, square);
+			pieceBitboards[previousPiece.ordinal()] &= ~mask;
+			colorOccupancy[previousPiece.getColor().ordinal()] &= ~mask;
+			occupancy &= ~mask;
+		}
+		if (piece != null) {
+			piecesKey ^= Zobrist.pieceKey(piece, square);
+			pieceBitboards[piece.ordinal()] |= mask;
+			colorOccupancy[piece.getColor().ordinal()] |= mask;
+			occupancy |= mask;
+		}
+		if (previousPiece != null && previousPiece.getType() == PieceType.KING) {
+			updateKingSquare(previousPiece);
+		}
+		if (piece != null && piece.getType() == PieceType.KING) {
+			updateKingSquare(piece);
+		}
+	}
+	
+	private void updateKingSquare(Piece king) {
+		kingSquares[king.getColor().ordinal()] = Bitboards.lowestSquare(pieceBitboards[king.ordinal()]);
+	}
 }
@@ -0,0 +1,171 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.enums.MoveValidationResult;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Validates many games in parallel on a fork-join pool. Each game is a list
+ * of moves from the initial position, validated move by move with
+ * {@link BoardManager#tryMove}. Moves without promotion type promote to
+ * queen.
+ * <p>
+ * Results are returned in the order of the games. Games are taken from the
+ * source only when there is room for them, at most a fixed number of them
+ * is in flight, so a slow consumer of the results slows down reading of the
+ * source instead of piling up games in memory.
+ *
+ */
+public class BatchGameValidator {
+
+	private static final int GAMES_IN_FLIGHT_PER_THREAD = 16;
+
+	private final ForkJoinPool pool;
+	private final int maxGamesInFlight;
+
+	public BatchGameValidator() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	public BatchGameValidator(ForkJoinPool pool) {
+		this(pool, pool.getParallelism() * GAMES_IN_FLIGHT_PER_THREAD);
+	}
+
+	/**
+	 * Creates validator running on given pool
+	 *
+	 * @param pool
+	 *            fork-join pool the games are validated on
+	 * @param maxGamesInFlight
+	 *            maximal number of games taken from the source and not yet
+	 *            returned as results
+	 */
+	public BatchGameValidator(ForkJoinPool pool, int maxGamesInFlight) {
+		if (maxGamesInFlight < 1) {
+			throw new IllegalArgumentException("At least one game must be in flight");
+		}
+		this.pool = pool;
+		this.maxGamesInFlight = maxGamesInFlight;
+	}
+
+	/**
+	 * Validates games lazily: games are read from the source and validated as
+	 * the results are iterated
+	 *
+	 * @param games
+	 *            games to validate
+	 * @return results in the order of the games
+	 */
+	public Iterator<GameValidationResult> validate(Iterator<? extends List<Move>> games) {
+		return new ResultIterator(games);
+	}
+
+	/**
+	 * Validates games lazily, see {@link #validate(Iterator)}. The source
+	 * stream is consumed sequentially, parallelism comes from the pool.
+	 *
+	 * @param games
+	 *            games to validate
+	 * @return sequential ordered stream of results
+	 */
+	public Stream<GameValidationResult> validate(final Stream<? extends List<Move>> games) {
+		Iterator<GameValidationResult> results = validate(games.iterator());
+		return StreamSupport.stream(
+				Spliterators.spliteratorUnknownSize(results, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(new Runnable() {
+					@Override
+					public void run() {
+						games.close();
+					}
+				});
+	}
+
+	/**
+	 * Validates one game in the calling thread
+	 *
+	 * @param gameIndex
+	 *            index of the game reported in the result
+	 * @param moves
+	 *            moves from the initial position
+	 * @return validation result
+	 */
+	public static GameValidationResult validateGame(long gameIndex, List<Move> moves) {
+		GameValidationResult result = new GameValidationResult(gameIndex);
+		BoardManager boardManager = new BoardManager();
+		int plyCount = 0;
+		for (Move move : moves) {
+			MoveValidationResult validation = boardManager.tryMove(move.getFrom(), move.getTo(),
+					move.getPromotion());
+			if (!validation.isValid()) {
+				result.setRejection(validation);
+				break;
+			}
+			plyCount++;
+		}
+		result.setPlyCount(plyCount);
+		try {
+			result.setBoardState(boardManager.updateBoardState());
+		} catch (InvalidMoveException e) {
+			throw new IllegalStateException(e);
+		}
+		result.setThreefoldRepetition(boardManager.checkThreefoldRepetitionRule());
+		result.setFiftyMoveRule(boardManager.checkFiftyMoveRule());
+		result.setSeventyFiveMoveRule(boardManager.checkSeventyFiveMoveRule());
+		return result;
+	}
+
+	/**
+	 * Iterator keeping a window of submitted validations, joined in order
+	 */
+	private class ResultIterator implements Iterator<GameValidationResult> {
+
+		private final Iterator<? extends List<Move>> games;
+		private final Deque<ForkJoinTask<GameValidationResult>> tasks = new ArrayDeque<>();
+		private long gameCount;
+
+		ResultIterator(Iterator<? extends List<Move>> games) {
+			this.games = games;
+		}
+
+		@Override
+		public boolean hasNext() {
+			submitGames();
+			return !tasks.isEmpty();
+		}
+
+		@Override
+		public GameValidationResult next() {
+			submitGames();
+			if (tasks.isEmpty()) {
+				throw new NoSuchElementException();
+			}
+			return tasks.poll().join();
+		}
+
+		private void submitGames() {
+			while (tasks.size() < maxGamesInFlight && games.hasNext()) {
+				final List<Move> moves = games.next();
+				final long gameIndex = gameCount++;
+				tasks.add(pool.submit(new Callable<GameValidationResult>() {
+					@Override
+					public GameValidationResult call() {
+						return validateGame(gameIndex, moves);
+					}
+				}));
+			}
+		}
+	}
+}
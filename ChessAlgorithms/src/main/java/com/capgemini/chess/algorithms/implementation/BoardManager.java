@@ -1,7 +1,5 @@
 package com.capgemini.chess.algorithms.implementation;
 
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -11,19 +9,16 @@ import com.capgemini.chess.algorithms.data.Move;
 import com.capgemini.chess.algorithms.data.enums.BoardState;
 import com.capgemini.chess.algorithms.data.enums.Color;
 import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.data.enums.MoveValidationResult;
 import com.capgemini.chess.algorithms.data.enums.Piece;
 import com.capgemini.chess.algorithms.data.enums.PieceType;
 import com.capgemini.chess.algorithms.data.generated.Board;
 import com.capgemini.chess.algorithms.implementation.exceptions.InvalidCoordinatesException;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidFenException;
 import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
 import com.capgemini.chess.algorithms.implementation.exceptions.KingInCheckException;
-import com.capgemini.chess.algorithms.validator.BishopValidator;
-import com.capgemini.chess.algorithms.validator.Context;
-import com.capgemini.chess.algorithms.validator.KingValidator;
-import com.capgemini.chess.algorithms.validator.KnightValidator;
-import com.capgemini.chess.algorithms.validator.PawnValidator;
-import com.capgemini.chess.algorithms.validator.QueenValidator;
-import com.capgemini.chess.algorithms.validator.RookValidator;
+import com.capgemini.chess.algorithms.validator.AbstractMoveValidator;
+import com.capgemini.chess.algorithms.validator.Validators;
 
 /**
  * Class for managing of basic operations on the Chess Board.
@@ -33,15 +28,32 @@ import com.capgemini.chess.algorithms.validator.RookValidator;
  */
 public class BoardManager {
 
+	private static final int FIFTY_MOVES = 100;
+	private static final int SEVENTY_FIVE_MOVES = 150;
+
 	private Board board = new Board();
+	private BoardStateCache boardStateCache = BoardStateCache.getShared();
 
-	private Map<Coordinate, Piece> whitePieces = new HashMap<>();
-	private Map<Coordinate, Piece> blackPieces = new HashMap<>();
+	private PositionAnalysis positionAnalysis;
+	private MoveGenerator moveGenerator;
+	private long analysedPositionKey;
 
 	public BoardManager() {
 		initBoard();
 	}
 
+	/**
+	 * Creates manager of the initial position which caches board states in
+	 * given cache instead of the shared one
+	 *
+	 * @param boardStateCache
+	 *            cache of board states by position
+	 */
+	public BoardManager(BoardStateCache boardStateCache) {
+		this.boardStateCache = boardStateCache;
+		initBoard();
+	}
+
 	public BoardManager(List<Move> moves) {
 		initBoard();
 		for (Move move : moves) {
@@ -49,10 +61,28 @@ public class BoardManager {
 		}
 	}
 
+	/**
+	 * Creates manager of the position given in Forsyth-Edwards Notation, see
+	 * {@link Fen}
+	 *
+	 * @param fen
+	 *            position in Forsyth-Edwards Notation
+	 * @throws InvalidFenException
+	 *             in case the position cannot be read
+	 */
+	public BoardManager(String fen) throws InvalidFenException {
+		this.board = Fen.parse(fen);
+	}
+
 	public BoardManager(Board board) {
 		this.board = board;
 	}
 
+	public BoardManager(Board board, BoardStateCache boardStateCache) {
+		this.board = board;
+		this.boardStateCache = boardStateCache;
+	}
+
 	/**
 	 * Getter for generated board
 	 *
@@ -75,8 +105,26 @@ public class BoardManager {
 	 *             in case move is not valid
 	 */
 	public Move performMove(Coordinate from, Coordinate to) throws InvalidMoveException {
+		return performMove(from, to, null);
+	}
 
-		Move move = validateMove(from, to);
+	/**
+	 * Performs move of the chess piece on the chess board from one field to
+	 * another, promoting pawn which reaches the last row to given piece type.
+	 *
+	 * @param from
+	 *            coordinates of 'from' field
+	 * @param to
+	 *            coordinates of 'to' field
+	 * @param promotion
+	 *            queen, rook, bishop or knight; null means queen
+	 * @return move object which includes moved piece, move type and promotion
+	 * @throws InvalidMoveException
+	 *             in case move is not valid
+	 */
+	public Move performMove(Coordinate from, Coordinate to, PieceType promotion) throws InvalidMoveException {
+
+		Move move = validateMove(from, to, promotion);
 
 		addMove(move);
 
@@ -84,31 +132,100 @@ public class BoardManager {
 	}
 
 	/**
-	 * Calculates state of the chess board.
+	 * Performs move if it is valid. Unlike
+	 * {@link #performMove(Coordinate, Coordinate)} rejected moves are reported
+	 * by result, without throwing exceptions.
+	 *
+	 * @param from
+	 *            coordinates of 'from' field
+	 * @param to
+	 *            coordinates of 'to' field
+	 * @return {@link MoveValidationResult#VALID} if the move was performed,
+	 *         reason of rejection otherwise
+	 */
+	public MoveValidationResult tryMove(Coordinate from, Coordinate to) {
+		return tryMove(from, to, null);
+	}
+
+	/**
+	 * Performs move with given promotion if it is valid, see
+	 * {@link #tryMove(Coordinate, Coordinate)}
+	 *
+	 * @param from
+	 *            coordinates of 'from' field
+	 * @param to
+	 *            coordinates of 'to' field
+	 * @param promotion
+	 *            queen, rook, bishop or knight; null means queen
+	 * @return {@link MoveValidationResult#VALID} if the move was performed,
+	 *         reason of rejection otherwise
+	 */
+	public MoveValidationResult tryMove(Coordinate from, Coordinate to, PieceType promotion) {
+		Move move = setMove(null, from, to, null);
+		move.setPromotion(promotion);
+		MoveValidationResult result = checkMove(move);
+		if (result.isValid()) {
+			addMove(move);
+		}
+		return result;
+	}
+
+	/**
+	 * Checks if move is valid, without performing it
+	 *
+	 * @param from
+	 *            coordinates of 'from' field
+	 * @param to
+	 *            coordinates of 'to' field
+	 * @return true if the move is valid, false otherwise
+	 */
+	public boolean isLegal(Coordinate from, Coordinate to) {
+		return checkMove(setMove(null, from, to, null)).isValid();
+	}
+
+	/**
+	 * Generates all legal moves of the side to move, including castling, en
+	 * passant and promotion.
+	 *
+	 * @return list of legal moves
+	 */
+	public List<Move> generateLegalMoves() {
+		if (this.moveGenerator == null) {
+			createMoveGenerator();
+		}
+		return this.moveGenerator.generateLegalMoves(calculateNextMoveColor());
+	}
+
+	/**
+	 * Calculates state of the chess board, see {@link #getBoardState()}
 	 *
 	 * @return state of the chess board
 	 * @throws InvalidMoveException
 	 */
 	public BoardState updateBoardState() throws InvalidMoveException {
+		return getBoardState();
+	}
 
-		Color nextMoveColor = calculateNextMoveColor();
-
-		boolean isKingInCheck = isKingInCheck(nextMoveColor);
-		boolean isAnyMoveValid = isAnyMoveValid(nextMoveColor);
+	/**
+	 * Gets state of the chess board. The state is computed only when it is
+	 * asked for: it is taken from the board if it was stored for the current
+	 * position, then from the cache by position key, and the position is
+	 * analysed only on a miss.
+	 *
+	 * @return state of the chess board
+	 * @throws InvalidMoveException
+	 */
+	public BoardState getBoardState() throws InvalidMoveException {
 
-		BoardState boardState;
-		if (isKingInCheck) {
-			if (isAnyMoveValid) {
-				boardState = BoardState.CHECK;
-			} else {
-				boardState = BoardState.CHECK_MATE;
-			}
-		} else {
-			if (isAnyMoveValid) {
-				boardState = BoardState.REGULAR;
-			} else {
-				boardState = BoardState.STALE_MATE;
-			}
+		BoardState boardState = this.board.getState();
+		if (boardState != null) {
+			return boardState;
+		}
+		long positionKey = this.board.getPositionKey();
+		boardState = this.boardStateCache.get(positionKey);
+		if (boardState == null) {
+			boardState = calculateBoardState();
+			this.boardStateCache.put(positionKey, boardState);
 		}
 		this.board.setState(boardState);
 		return boardState;
@@ -116,30 +233,14 @@ public class BoardManager {
 
 	/**
 	 * Checks threefold repetition rule (one of the conditions to end the chess
-	 * game with a draw).
+	 * game with a draw). Positions are the same if they have the same pieces,
+	 * side to move, castling rights and en passant possibility.
 	 *
-	 * @return true if current state repeated at list two times, false otherwise
+	 * @return true if current position occurred at least three times, false
+	 *         otherwise
 	 */
 	public boolean checkThreefoldRepetitionRule() {
-
-		// there is no need to check moves that where before last capture/en
-		// passant/castling
-		int lastNonAttackMoveIndex = findLastNonAttackMoveIndex();
-		List<Move> omittedMoves = this.board.getMoveHistory().subList(0, lastNonAttackMoveIndex);
-		BoardManager simulatedBoardManager = new BoardManager(omittedMoves);
-
-		int counter = 0;
-		for (int i = lastNonAttackMoveIndex; i < this.board.getMoveHistory().size(); i++) {
-			Move moveToAdd = this.board.getMoveHistory().get(i);
-			simulatedBoardManager.addMove(moveToAdd);
-			boolean areBoardsEqual = Arrays.deepEquals(this.board.getPieces(),
-					simulatedBoardManager.getBoard().getPieces());
-			if (areBoardsEqual) {
-				counter++;
-			}
-		}
-
-		return counter >= 2;
+		return this.board.countRepetitions() >= 2;
 	}
 
 	/**
@@ -153,113 +254,95 @@ public class BoardManager {
 
 		// for this purpose a "move" consists of a player completing his turn
 		// followed by his opponent completing his turn
-		if (this.board.getMoveHistory().size() < 100) {
-			return false;
-		}
-
-		for (int i = this.board.getMoveHistory().size() - 1; i >= this.board.getMoveHistory().size() - 100; i--) {
-			Move currentMove = this.board.getMoveHistory().get(i);
-			PieceType currentPieceType = currentMove.getMovedPiece().getType();
-			if (currentMove.getType() != MoveType.ATTACK || currentPieceType == PieceType.PAWN) {
-				return false;
-			}
-		}
+		return this.board.getHalfmoveClock() >= FIFTY_MOVES;
+	}
 
-		return true;
+	/**
+	 * Checks 75-move rule (the game is drawn automatically, no claim is
+	 * needed).
+	 *
+	 * @return true if no pawn was moved or not capture was performed during
+	 *         last 75 moves, false otherwise
+	 */
+	public boolean checkSeventyFiveMoveRule() {
+		return this.board.getHalfmoveClock() >= SEVENTY_FIVE_MOVES;
 	}
 
 	// PRIVATE
 
 	private void initBoard() {
 
-		this.board.setPieceAt(Piece.BLACK_ROOK, new Coordinate(0, 7));
-		this.board.setPieceAt(Piece.BLACK_KNIGHT, new Coordinate(1, 7));
-		this.board.setPieceAt(Piece.BLACK_BISHOP, new Coordinate(2, 7));
-		this.board.setPieceAt(Piece.BLACK_QUEEN, new Coordinate(3, 7));
-		this.board.setPieceAt(Piece.BLACK_KING, new Coordinate(4, 7));
-		this.board.setPieceAt(Piece.BLACK_BISHOP, new Coordinate(5, 7));
-		this.board.setPieceAt(Piece.BLACK_KNIGHT, new Coordinate(6, 7));
-		this.board.setPieceAt(Piece.BLACK_ROOK, new Coordinate(7, 7));
+		this.board.setPieceAt(Piece.BLACK_ROOK, Coordinate.of(0, 7));
+		this.board.setPieceAt(Piece.BLACK_KNIGHT, Coordinate.of(1, 7));
+		this.board.setPieceAt(Piece.BLACK_BISHOP, Coordinate.of(2, 7));
+		this.board.setPieceAt(Piece.BLACK_QUEEN, Coordinate.of(3, 7));
+		this.board.setPieceAt(Piece.BLACK_KING, Coordinate.of(4, 7));
+		this.board.setPieceAt(Piece.BLACK_BISHOP, Coordinate.of(5, 7));
+		this.board.setPieceAt(Piece.BLACK_KNIGHT, Coordinate.of(6, 7));
+		this.board.setPieceAt(Piece.BLACK_ROOK, Coordinate.of(7, 7));
 
 		for (int x = 0; x < Board.SIZE; x++) {
-			this.board.setPieceAt(Piece.BLACK_PAWN, new Coordinate(x, 6));
+			this.board.setPieceAt(Piece.BLACK_PAWN, Coordinate.of(x, 6));
 		}
 
-		this.board.setPieceAt(Piece.WHITE_ROOK, new Coordinate(0, 0));
-		this.board.setPieceAt(Piece.WHITE_KNIGHT, new Coordinate(1, 0));
-		this.board.setPieceAt(Piece.WHITE_BISHOP, new Coordinate(2, 0));
-		this.board.setPieceAt(Piece.WHITE_QUEEN, new Coordinate(3, 0));
-		this.board.setPieceAt(Piece.WHITE_KING, new Coordinate(4, 0));
-		this.board.setPieceAt(Piece.WHITE_BISHOP, new Coordinate(5, 0));
-		this.board.setPieceAt(Piece.WHITE_KNIGHT, new Coordinate(6, 0));
-		this.board.setPieceAt(Piece.WHITE_ROOK, new Coordinate(7, 0));
+		this.board.setPieceAt(Piece.WHITE_ROOK, Coordinate.of(0, 0));
+		this.board.setPieceAt(Piece.WHITE_KNIGHT, Coordinate.of(1, 0));
+		this.board.setPieceAt(Piece.WHITE_BISHOP, Coordinate.of(2, 0));
+		this.board.setPieceAt(Piece.WHITE_QUEEN, Coordinate.of(3, 0));
+		this.board.setPieceAt(Piece.WHITE_KING, Coordinate.of(4, 0));
+		this.board.setPieceAt(Piece.WHITE_BISHOP, Coordinate.of(5, 0));
+		this.board.setPieceAt(Piece.WHITE_KNIGHT, Coordinate.of(6, 0));
+		this.board.setPieceAt(Piece.WHITE_ROOK, Coordinate.of(7, 0));
 
 		for (int x = 0; x < Board.SIZE; x++) {
-			this.board.setPieceAt(Piece.WHITE_PAWN, new Coordinate(x, 1));
+			this.board.setPieceAt(Piece.WHITE_PAWN, Coordinate.of(x, 1));
 		}
 	}
 
 	private void addMove(Move move) {
-
-		addRegularMove(move);
-
-		if (move.getType() == MoveType.CASTLING) {
-			addCastling(move);
-		} else if (move.getType() == MoveType.EN_PASSANT) {
-			addEnPassant(move);
-		}
-
-		this.board.getMoveHistory().add(move);
-	}
-
-	private void addRegularMove(Move move) {
-		Piece movedPiece = this.board.getPieceAt(move.getFrom());
-		this.board.setPieceAt(null, move.getFrom());
-		this.board.setPieceAt(movedPiece, move.getTo());
-
-		performPromotion(move, movedPiece);
+		this.board.makeMove(move);
 	}
 
-	private void performPromotion(Move move, Piece movedPiece) {
-		if (movedPiece == Piece.WHITE_PAWN && move.getTo().getY() == (Board.SIZE - 1)) {
-			this.board.setPieceAt(Piece.WHITE_QUEEN, move.getTo());
-		}
-		if (movedPiece == Piece.BLACK_PAWN && move.getTo().getY() == 0) {
-			this.board.setPieceAt(Piece.BLACK_QUEEN, move.getTo());
-		}
-	}
+	private Move validateMove(Coordinate from, Coordinate to, PieceType promotion)
+			throws InvalidMoveException, KingInCheckException {
+		Move move = setMove(null, from, to, null);
+		move.setPromotion(promotion);
+		MoveValidationResult result = checkMove(move);
 
-	private void addCastling(Move move) {
-		if (move.getFrom().getX() > move.getTo().getX()) {
-			Piece rook = this.board.getPieceAt(new Coordinate(0, move.getFrom().getY()));
-			this.board.setPieceAt(null, new Coordinate(0, move.getFrom().getY()));
-			this.board.setPieceAt(rook, new Coordinate(move.getTo().getX() + 1, move.getTo().getY()));
-		} else {
-			Piece rook = this.board.getPieceAt(new Coordinate(Board.SIZE - 1, move.getFrom().getY()));
-			this.board.setPieceAt(null, new Coordinate(Board.SIZE - 1, move.getFrom().getY()));
-			this.board.setPieceAt(rook, new Coordinate(move.getTo().getX() - 1, move.getTo().getY()));
+		if (result == MoveValidationResult.INVALID_COORDINATES) {
+			throw new InvalidCoordinatesException();
+		} else if (result == MoveValidationResult.KING_IN_CHECK) {
+			throw new KingInCheckException();
+		} else if (!result.isValid()) {
+			throw new InvalidMoveException();
 		}
-	}
 
-	private void addEnPassant(Move move) {
-		Move lastMove = this.board.getMoveHistory().get(this.board.getMoveHistory().size() - 1);
-		this.board.setPieceAt(null, lastMove.getTo());
+		return move;
 	}
 
-	private Move validateMove(Coordinate from, Coordinate to) throws InvalidMoveException, KingInCheckException {
-		// TODO please add implementation here
-		if (blackPieces.size() == 0 && whitePieces.size() == 0) {
-			addPiecesToLists();
+	private MoveValidationResult checkMove(Move move) {
+		Coordinate from = move.getFrom();
+		Coordinate to = move.getTo();
+		if (areCoordinatesOutOfBound(from, to)) {
+			return MoveValidationResult.INVALID_COORDINATES;
 		}
 
-		checkIfCoordinatesAreOutOfBound(from, to);
-
-		Piece piece = checkIfPieceIsInCoordinateFrom(from);
+		Piece piece = board.getPieceAt(from);
+		if (piece == null) {
+			return MoveValidationResult.NO_PIECE_TO_MOVE;
+		}
 
 		Color nextMoveColor = calculateNextMoveColor();
 
-		checkIfPieceIsOurs(piece, nextMoveColor);
-		checkIfPieceInCoordinateToIsOpponents(to, nextMoveColor);
+		if (!piece.getColor().equals(nextMoveColor)) {
+			return MoveValidationResult.OPPONENT_PIECE_TO_MOVE;
+		}
+		if (isOwnPieceAt(to, nextMoveColor)) {
+			return MoveValidationResult.OWN_PIECE_AT_DESTINATION;
+		}
+		if (isCastling(piece, from, to)) {
+			return checkCastling(move, piece);
+		}
 
 		MoveType moveType = null;
 		if (piece.getType().equals(PieceType.PAWN) && checkIfEnPassant(from, to, nextMoveColor)) {
@@ -268,30 +351,69 @@ public class BoardManager {
 		else {
 			moveType = setMoveType(to, nextMoveColor);
 		}
-		
-		Context context = returningContext(piece);
+		move.setMovedPiece(piece);
+		move.setType(moveType);
 
-		checkIfPieceCanMoveTo(piece, from, to, moveType);
+		AbstractMoveValidator validator = Validators.of(piece.getType());
 
-		Move move = setMove(piece, from, to, moveType);
+		if (!validator.checkIfPieceCanMoveTo(piece, from, to, moveType)) {
+			return MoveValidationResult.ILLEGAL_PIECE_MOVE;
+		}
+		if (!piece.getType().equals(PieceType.KNIGHT) && !validator.isRoadToPieceDestinationEmpty(from, to, board)) {
+			return MoveValidationResult.ROAD_BLOCKED;
+		}
+		if (!checkPromotion(move)) {
+			return MoveValidationResult.INVALID_PROMOTION;
+		}
 
-		checkIfRoadToPieceDestinationIsEmpty(piece, from, to, context);
+		if (!analysePosition(nextMoveColor).isLegal(from.getIndex(), to.getIndex(), moveType)) {
+			return MoveValidationResult.KING_IN_CHECK;
+		}
 
-		updateLists(move);
+		return MoveValidationResult.VALID;
+	}
 
-		if (isKingInCheck(nextMoveColor)) {
-			addPiecesToLists();
-			throw new KingInCheckException();
+	private boolean checkPromotion(Move move) {
+		PieceType promotion = move.getPromotion();
+		Piece piece = move.getMovedPiece();
+		int lastRow = piece.getColor() == Color.WHITE ? Board.SIZE - 1 : 0;
+		if (!piece.getType().equals(PieceType.PAWN) || move.getTo().getY() != lastRow) {
+			return promotion == null;
+		}
+		if (promotion == null) {
+			move.setPromotion(PieceType.QUEEN);
+			return true;
 		}
+		return promotion != PieceType.KING && promotion != PieceType.PAWN;
+	}
 
-		return move;
+	private boolean isCastling(Piece piece, Coordinate from, Coordinate to) {
+		return piece.getType().equals(PieceType.KING) && from.getY() == to.getY()
+				&& Math.abs(to.getX() - from.getX()) == 2;
 	}
 
-	private void checkIfRoadToPieceDestinationIsEmpty(Piece piece, Coordinate from, Coordinate to, Context context)
-			throws InvalidMoveException {
-		if (!piece.getType().equals(PieceType.KNIGHT)) {
-			context.checkIfRoadToPieceDestinationIsEmpty(from, to, board);
+	private MoveValidationResult checkCastling(Move move, Piece king) {
+		Coordinate from = move.getFrom();
+		Coordinate to = move.getTo();
+		boolean kingSide = to.getX() > from.getX();
+		move.setMovedPiece(king);
+		move.setType(MoveType.CASTLING);
+
+		if (move.getPromotion() != null) {
+			return MoveValidationResult.INVALID_PROMOTION;
+		}
+		if ((this.board.getCastlingRights() & Board.castlingRight(king.getColor(), kingSide)) == 0) {
+			return MoveValidationResult.ILLEGAL_PIECE_MOVE;
 		}
+		Coordinate rookCoordinate = Coordinate.of(kingSide ? Board.SIZE - 1 : 0, from.getY());
+		if (!Validators.of(PieceType.KING).isRoadToPieceDestinationEmpty(from, rookCoordinate, this.board)) {
+			return MoveValidationResult.ROAD_BLOCKED;
+		}
+		if (!analysePosition(king.getColor()).isLegal(from.getIndex(), to.getIndex(), MoveType.CASTLING)) {
+			return MoveValidationResult.KING_IN_CHECK;
+		}
+
+		return MoveValidationResult.VALID;
 	}
 
 	private Move setMove(Piece piece, Coordinate from, Coordinate to, MoveType moveType) {
@@ -303,14 +425,6 @@ public class BoardManager {
 		return move;
 	}
 
-	private void checkIfPieceCanMoveTo(Piece piece, Coordinate from, Coordinate to, MoveType moveType)
-			throws InvalidMoveException {
-		Context context = returningContext(piece);
-		if (!context.checkIfPieceCanMoveTo(piece, from, to, moveType)) {
-			throw new InvalidMoveException();
-		}
-	}
-
 	private MoveType setMoveType(Coordinate to, Color nextMoveColor) {
 		if (board.getPieceAt(to) != null && board.getPieceAt(to).getColor() != nextMoveColor) {
 			return MoveType.CAPTURE;
@@ -320,76 +434,22 @@ public class BoardManager {
 	}
 
 	private boolean checkIfEnPassant(Coordinate from, Coordinate to, Color color) {
-		int positionForWhitePawn = 4;
-		int positionForBlackPawn = 3;
-		int lastMoveOfEnemyPawn = 2;
-		if(color.equals(Color.WHITE) && from.getY() == positionForWhitePawn){
-			Coordinate onTheLeft = new Coordinate(from.getX() - 1, positionForWhitePawn);
-			Coordinate onTheRight = new Coordinate(from.getX() + 1, positionForWhitePawn);
-			Piece getPawnOnTheRight = board.getPieceAt(onTheRight);
-			Piece getPawnOnTheLeft = board.getPieceAt(onTheLeft);
-			
-			Move move = board.getMoveHistory().get(board.getMoveHistory().size() - 1);
-			if(getPawnOnTheRight != null && getPawnOnTheRight.equals(Piece.BLACK_PAWN)){
-				if(move != null && Math.abs(move.getFrom().getY() - move.getTo().getY()) == lastMoveOfEnemyPawn){
-					return true;
-				}
-			}
-			else if(getPawnOnTheLeft != null && getPawnOnTheLeft.equals(Piece.BLACK_PAWN)){
-				if(move != null && Math.abs(move.getFrom().getY() - move.getTo().getY()) == lastMoveOfEnemyPawn){
-					return true;
-				}
-			}
-		}
-		else if(color.equals(Color.BLACK) && from.getY() == positionForBlackPawn){
-			Coordinate onTheLeft = new Coordinate(from.getX() - 1, positionForBlackPawn);
-			Coordinate onTheRight = new Coordinate(from.getX() + 1, positionForBlackPawn);
-			Piece getPawnOnTheRight = board.getPieceAt(onTheRight);
-			Piece getPawnOnTheLeft = board.getPieceAt(onTheLeft);
-			
-			Move move = board.getMoveHistory().get(board.getMoveHistory().size() - 1);
-			if(getPawnOnTheRight != null && getPawnOnTheRight.equals(Piece.WHITE_PAWN)){
-				if(move != null && Math.abs(move.getFrom().getY() - move.getTo().getY()) == lastMoveOfEnemyPawn){
-					return true;
-				}
-			}
-			else if(getPawnOnTheLeft != null && getPawnOnTheLeft.equals(Piece.WHITE_PAWN)){
-				if(move != null && Math.abs(move.getFrom().getY() - move.getTo().getY()) == lastMoveOfEnemyPawn){
-					return true;
-				}
-			}
-		}
-		return false;
-	}
-
-	private void checkIfPieceInCoordinateToIsOpponents(Coordinate to, Color nextMoveColor) throws InvalidMoveException {
-		Color colorOfDestinationPiece = null;
-
-		if (board.getPieceAt(to) != null) {
-			colorOfDestinationPiece = board.getPieceAt(to).getColor();
+		int target = board.getEnPassantSquare();
+		if (target == Board.NO_SQUARE || to.getIndex() != target || board.getPieceAt(to) != null) {
+			return false;
 		}
 
-		if (colorOfDestinationPiece != null && colorOfDestinationPiece.equals(nextMoveColor)) {
-			throw new InvalidMoveException();
-		}
+		Coordinate captured = Coordinate.ofIndex(color.equals(Color.WHITE) ? target - Board.SIZE : target + Board.SIZE);
+		Piece enemyPawn = color.equals(Color.WHITE) ? Piece.BLACK_PAWN : Piece.WHITE_PAWN;
+		return enemyPawn.equals(board.getPieceAt(captured)) && captured.getY() == from.getY();
 	}
 
-	private void checkIfPieceIsOurs(Piece piece, Color nextMoveColor) throws InvalidMoveException {
-		if (!piece.getColor().equals(nextMoveColor)) {
-			throw new InvalidMoveException();
-		}
+	private boolean isOwnPieceAt(Coordinate to, Color nextMoveColor) {
+		Piece piece = board.getPieceAt(to);
+		return piece != null && piece.getColor().equals(nextMoveColor);
 	}
 
-	private Piece checkIfPieceIsInCoordinateFrom(Coordinate from) throws InvalidMoveException {
-		Piece piece = board.getPieceAt(from);
-		if (piece == null) {
-			throw new InvalidMoveException();
-		}
-
-		return piece;
-	}
-
-	private void checkIfCoordinatesAreOutOfBound(Coordinate from, Coordinate to) throws InvalidMoveException {
+	private boolean areCoordinatesOutOfBound(Coordinate from, Coordinate to) {
 		double middleOfPossibleCoordinate = 3.5;
 		boolean checkIfFromCoordinateisValid = Math
 				.abs(from.getX() - middleOfPossibleCoordinate) > middleOfPossibleCoordinate
@@ -397,257 +457,83 @@ public class BoardManager {
 		boolean checkIfToCoordinateisValid = Math
 				.abs(from.getY() - middleOfPossibleCoordinate) > middleOfPossibleCoordinate
 				|| Math.abs(to.getY() - middleOfPossibleCoordinate) > middleOfPossibleCoordinate;
-		if (checkIfFromCoordinateisValid || checkIfToCoordinateisValid) {
-			throw new InvalidCoordinatesException();
-		}
-
+		return checkIfFromCoordinateisValid || checkIfToCoordinateisValid;
 	}
 
-	private boolean isKingInCheck(Color kingColor) throws InvalidMoveException {
-		// TODO please add implementation here
-		if (whitePieces.size() == 0 && blackPieces.size() == 0) {
-			addPiecesToLists();
-		}
-
-		Coordinate kingCoordinate = null;
-		if (kingColor.equals(Color.WHITE)) {
-			kingCoordinate = getCoordinatesByKing(whitePieces, Piece.WHITE_KING);
-		} else {
-			kingCoordinate = getCoordinatesByKing(blackPieces, Piece.BLACK_KING);
-		}
-
-		if (kingCoordinate == null) {
-			return false;
-		}
-
-		return transmissionRightCoordinatesAndColor(kingCoordinate, kingColor);
-	}
-
-	private boolean isAnyMoveValid(Color nextMoveColor) throws InvalidMoveException {
-		// TODO please add implementation here
-		Map<Coordinate, Piece> ourPieces;
-		Map<Coordinate, Piece> opponentPieces;
-		if (nextMoveColor.equals(Color.WHITE)) {
-			ourPieces = whitePieces;
-			opponentPieces = blackPieces;
-		} else {
-			ourPieces = blackPieces;
-			opponentPieces = whitePieces;
-		}
-
-		return checkIsAnyMoveValid(ourPieces, opponentPieces);
-	}
+	private BoardState calculateBoardState() {
 
-	private Color calculateNextMoveColor() {
-		if (this.board.getMoveHistory().size() % 2 == 0) {
-			return Color.WHITE;
-		} else {
-			return Color.BLACK;
-		}
-	}
+		Color nextMoveColor = calculateNextMoveColor();
 
-	private int findLastNonAttackMoveIndex() {
-		int counter = 0;
-		int lastNonAttackMoveIndex = 0;
+		boolean isKingInCheck = isKingInCheck(nextMoveColor);
+		boolean isAnyMoveValid = isAnyMoveValid(nextMoveColor);
 
-		for (Move move : this.board.getMoveHistory()) {
-			if (move.getType() != MoveType.ATTACK) {
-				lastNonAttackMoveIndex = counter;
+		BoardState boardState;
+		if (isKingInCheck) {
+			if (isAnyMoveValid) {
+				boardState = BoardState.CHECK;
+			} else {
+				boardState = BoardState.CHECK_MATE;
 			}
-			counter++;
-		}
-
-		return lastNonAttackMoveIndex;
-	}
-
-	private Context returningContext(Piece piece) {
-		if (piece.getType().equals(PieceType.BISHOP)) {
-			return new Context(new BishopValidator());
-		} else if (piece.getType().equals(PieceType.ROOK)) {
-			return new Context(new RookValidator());
-		} else if (piece.getType().equals(PieceType.KING)) {
-			return new Context(new KingValidator());
-		} else if (piece.getType().equals(PieceType.QUEEN)) {
-			return new Context(new QueenValidator());
-		} else if (piece.getType().equals(PieceType.KNIGHT)) {
-			return new Context(new KnightValidator());
-		} else {
-			return new Context(new PawnValidator());
-		}
-	}
-
-	private boolean transmissionRightCoordinatesAndColor(Coordinate kingCoordinate, Color kingColor) {
-		if (kingColor.equals(Color.WHITE)) {
-			return kingInCheck(kingCoordinate, blackPieces, Color.WHITE);
 		} else {
-			return kingInCheck(kingCoordinate, whitePieces, Color.BLACK);
-		}
-	}
-
-	private boolean kingInCheck(Coordinate kingCoordinate, Map<Coordinate, Piece> piecesMap, Color color) {
-		Context context = null;
-		for (Map.Entry<Coordinate, Piece> entry : piecesMap.entrySet()) {
-			Coordinate coordinate = entry.getKey();
-			Piece piece = entry.getValue();
-			context = returningContext(piece);
-
-			try {
-				checkIfPieceInCoordinateToIsOpponents(kingCoordinate, color);
-			} catch (InvalidMoveException e1) {
-
-			}
-
-			MoveType moveType = setMoveType(kingCoordinate, color);
-			if (context.checkIfPieceCanMoveTo(piece, coordinate, kingCoordinate, moveType)) {
-				try {
-					Board fakeBoard = creatingFakeBoard(piece, coordinate, kingCoordinate);
-					context.checkIfRoadToPieceDestinationIsEmpty(coordinate, kingCoordinate, fakeBoard);
-					return true;
-				} catch (InvalidMoveException e) {
-					continue;
-				}
-			}
-		}
-		return false;
-	}
-
-	private boolean checkIsAnyMoveValid(Map<Coordinate, Piece> ourPieces, Map<Coordinate, Piece> opponentPieces)
-			throws InvalidMoveException {
-		Context context = null;
-		boolean pieceCanGoSomewhereOnBoard = false;
-		for (Map.Entry<Coordinate, Piece> entry : ourPieces.entrySet()) {
-			Coordinate coordinateFrom = entry.getKey();
-			Piece piece = entry.getValue();
-			context = returningContext(piece);
-			pieceCanGoSomewhereOnBoard = canPiecesGoSomewhereOnBoard(context, coordinateFrom, piece, opponentPieces);
-			if (pieceCanGoSomewhereOnBoard) {
-				return true;
-			}
-		}
-		return false;
-	}
-
-	private boolean canPiecesGoSomewhereOnBoard(Context context, Coordinate coordinateFrom, Piece piece,
-			Map<Coordinate, Piece> opponentPieces) throws InvalidMoveException {
-		for (int x = 0; x < Board.SIZE; x++) {
-			for (int y = 0; y < Board.SIZE; y++) {
-				Coordinate coordinateTo = new Coordinate(x, y);
-				Color color = piece.getColor();
-
-				try {
-					checkIfPieceInCoordinateToIsOpponents(coordinateTo, color);
-				} catch (InvalidMoveException e1) {
-
-				}
-				MoveType moveType = setMoveType(coordinateTo, color);
-
-				if (context.checkIfPieceCanMoveTo(piece, coordinateFrom, coordinateTo, moveType)) {
-					Move move = setMove(piece, coordinateFrom, coordinateTo, moveType);
-					updateLists(move);
-					if (piece.getType().equals(PieceType.KING)) {
-						if (checkIfNewPositionOfKingWillBeChecked(coordinateTo, opponentPieces)) {
-							addPiecesToLists();
-							continue;
-						}
-						return true;
-					} else {
-						return true;
-					}
-				}
-			}
-		}
-		return false;
-	}
-
-	private boolean checkIfNewPositionOfKingWillBeChecked(Coordinate coordinateTo,
-			Map<Coordinate, Piece> opponentPieces) throws InvalidMoveException {
-		Context context;
-		Piece piece;
-		Coordinate coordinateFrom;
-
-		for (Map.Entry<Coordinate, Piece> opponentEntry : opponentPieces.entrySet()) {
-			coordinateFrom = opponentEntry.getKey();
-			piece = opponentEntry.getValue();
-			context = returningContext(piece);
-			Color color;
-			if (piece.getColor().equals(Color.BLACK)) {
-				color = Color.WHITE;
+			if (isAnyMoveValid) {
+				boardState = BoardState.REGULAR;
 			} else {
-				color = Color.BLACK;
-			}
-
-			try {
-				checkIfPieceInCoordinateToIsOpponents(coordinateTo, color);
-			} catch (InvalidMoveException e1) {
-
-			}
-
-			MoveType moveType = setMoveType(coordinateTo, color);
-
-			if (context.checkIfPieceCanMoveTo(piece, coordinateFrom, coordinateTo, moveType)) {
-				try {
-					Board fakeBoard = creatingFakeBoard(piece, coordinateFrom, coordinateTo);
-					context.checkIfRoadToPieceDestinationIsEmpty(coordinateFrom, coordinateTo, fakeBoard);
-					return true;
-				} catch (InvalidMoveException e) {
-					continue;
-				}
+				boardState = BoardState.STALE_MATE;
 			}
 		}
-		return false;
+		return boardState;
 	}
 
-	private Board creatingFakeBoard(Piece piece, Coordinate from, Coordinate to) {
-		Board fakeBoard = new Board();
-		for (Coordinate coordinate : whitePieces.keySet()) {
-			fakeBoard.setPieceAt(whitePieces.get(coordinate), coordinate);
-		}
+	private boolean isKingInCheck(Color kingColor) {
+		return analysePosition(kingColor).isInCheck();
+	}
 
-		for (Coordinate coordinate : blackPieces.keySet()) {
-			fakeBoard.setPieceAt(blackPieces.get(coordinate), coordinate);
+	private PositionAnalysis analysePosition(Color color) {
+		long positionKey = this.board.getPositionKey();
+		if (this.positionAnalysis == null) {
+			createMoveGenerator();
+		} else if (this.analysedPositionKey == positionKey && this.positionAnalysis.getColor() == color) {
+			return this.positionAnalysis;
 		}
+		this.positionAnalysis.analyse(color);
+		this.analysedPositionKey = positionKey;
+		return this.positionAnalysis;
+	}
 
-		fakeBoard.setPieceAt(piece, to);
-		fakeBoard.setPieceAt(null, from);
-
-		return fakeBoard;
+	private void createMoveGenerator() {
+		this.positionAnalysis = new PositionAnalysis(this.board);
+		this.moveGenerator = new MoveGenerator(this.board, this.positionAnalysis);
 	}
 
-	private void addPiecesToLists() {
-		whitePieces = new HashMap<Coordinate, Piece>();
-		blackPieces = new HashMap<Coordinate, Piece>();
-		for (int x = 0; x < Board.SIZE; x++) {
-			for (int y = 0; y < Board.SIZE; y++) {
-				Coordinate coordinate = new Coordinate(x, y);
-				Piece piece = board.getPieceAt(coordinate);
-				if (piece != null && piece.getColor().equals(Color.WHITE)) {
-					whitePieces.put(coordinate, piece);
-				} else if (piece != null && piece.getColor().equals(Color.BLACK)) {
-					blackPieces.put(coordinate, piece);
-				}
-			}
-		}
+	private boolean isAnyMoveValid(Color nextMoveColor) {
+		analysePosition(nextMoveColor);
+		return this.moveGenerator.hasLegalMoveInAnalysedPosition();
 	}
 
-	private void updateLists(Move move) {
-		if (move.getMovedPiece().getColor().equals(Color.WHITE)) {
-			whitePieces.put(move.getTo(), move.getMovedPiece());
-			whitePieces.remove(move.getFrom());
-			blackPieces.remove(move.getTo());
-		} else {
-			blackPieces.put(move.getTo(), move.getMovedPiece());
-			blackPieces.remove(move.getFrom());
-			whitePieces.remove(move.getTo());
-		}
+	private Color calculateNextMoveColor() {
+		return this.board.getSideToMove();
 	}
 
+	/**
+	 * Finds coordinate of given king in the map of pieces
+	 *
+	 * @param map
+	 *            pieces by their coordinates
+	 * @param value
+	 *            king to find
+	 * @return coordinate of the king, null if it is not in the map
+	 * @deprecated the manager does not keep piece maps any more, use
+	 *             {@link Board#getKingSquare(Color)} and
+	 *             {@link Coordinate#ofIndex(int)}
+	 */
+	@Deprecated
 	public static <T, E> Coordinate getCoordinatesByKing(Map<Coordinate, Piece> map, Piece value) {
 
 		for (Entry<Coordinate, Piece> entry : map.entrySet()) {
 			if (entry.getValue().equals(value)) {
-				return (Coordinate) entry.getKey();
+				return entry.getKey();
 			}
 		}
 		return null;
 	}
-}
\ No newline at end of file
+}
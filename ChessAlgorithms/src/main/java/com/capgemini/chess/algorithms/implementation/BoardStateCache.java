@@ -0,0 +1,100 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import java.util.Arrays;
+
+import com.capgemini.chess.algorithms.data.enums.BoardState;
+
+/**
+ * Bounded cache of board states keyed by position key, see
+ * {@link com.capgemini.chess.algorithms.data.generated.Board#getPositionKey()}.
+ * <p>
+ * The cache is a fixed-size table indexed by the low bits of the key, a new
+ * position overwrites the one stored in its slot. Each slot keeps the state
+ * and the key XORed with the state, so a slot half written by another thread
+ * fails the key check and reads as a miss. The cache is thread-safe without
+ * locking and does not allocate, so one instance can be shared by all games.
+ *
+ */
+public class BoardStateCache {
+
+	private static final int DEFAULT_CAPACITY = 1 << 16;
+	private static final int MAX_CAPACITY = 1 << 30;
+	private static final long EMPTY = 0L;
+	private static final BoardState[] STATES = BoardState.values();
+	private static final BoardStateCache SHARED = new BoardStateCache(DEFAULT_CAPACITY);
+
+	private final long[] checkedKeys;
+	private final long[] states;
+	private final int mask;
+
+	/**
+	 * Creates cache
+	 *
+	 * @param capacity
+	 *            number of cached positions, rounded up to a power of two
+	 */
+	public BoardStateCache(int capacity) {
+		if (capacity < 1 || capacity > MAX_CAPACITY) {
+			throw new IllegalArgumentException("Capacity must be 1 - " + MAX_CAPACITY);
+		}
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		this.checkedKeys = new long[size];
+		this.states = new long[size];
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Gets cache shared by all board managers
+	 *
+	 * @return shared cache
+	 */
+	public static BoardStateCache getShared() {
+		return SHARED;
+	}
+
+	/**
+	 * Gets cached state of given position
+	 *
+	 * @param positionKey
+	 *            position key
+	 * @return board state, null if the position is not cached
+	 */
+	public BoardState get(long positionKey) {
+		int slot = (int) positionKey & mask;
+		long state = states[slot];
+		if (state == EMPTY || (checkedKeys[slot] ^ state) != positionKey) {
+			return null;
+		}
+		return STATES[(int) state - 1];
+	}
+
+	public void put(long positionKey, BoardState state) {
+		int slot = (int) positionKey & mask;
+		long code = state.ordinal() + 1;
+		checkedKeys[slot] = positionKey ^ code;
+		states[slot] = code;
+	}
+
+	/**
+	 * Counts cached positions by scanning the whole table
+	 *
+	 * @return number of occupied slots
+	 */
+	public int size() {
+		int size = 0;
+		for (long state : states) {
+			if (state != EMPTY) {
+				size++;
+			}
+		}
+		return size;
+	}
+
+	public void clear() {
+		Arrays.fill(states, EMPTY);
+		Arrays.fill(checkedKeys, EMPTY);
+	}
+}
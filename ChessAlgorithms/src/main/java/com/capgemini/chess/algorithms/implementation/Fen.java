@@ -0,0 +1,266 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import com.capgemini.chess.algorithms.bitboard.Bitboards;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidFenException;
+
+/**
+ * Reads and writes positions in Forsyth-Edwards Notation, e.g.
+ * "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1". Halfmove
+ * clock and fullmove number are optional when reading and default to 0 and
+ * 1.
+ *
+ * The string is scanned in place, without splitting it, and
+ * {@link #load(String, Board)} reuses given board, so loading a position
+ * allocates nothing but the board itself.
+ *
+ */
+public final class Fen {
+
+	/**
+	 * Standard initial position
+	 */
+	public static final String INITIAL_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+	private static final String PIECE_LETTERS = "kqbnrp";
+	private static final char[] SYMBOLS = new char[Piece.values().length];
+	private static final Piece[] PIECES_BY_SYMBOL = new Piece[128];
+	private static final String CASTLING_SYMBOLS = "KQkq";
+	private static final int[] CASTLING_RIGHTS = { Board.WHITE_KING_SIDE_CASTLING, Board.WHITE_QUEEN_SIDE_CASTLING,
+			Board.BLACK_KING_SIDE_CASTLING, Board.BLACK_QUEEN_SIDE_CASTLING };
+	private static final int MAX_LENGTH = 92;
+	private static final int MAX_NUMBER_DIGITS = 9;
+	private static final int WHITE_EN_PASSANT_Y = 2;
+	private static final int BLACK_EN_PASSANT_Y = Board.SIZE - 1 - WHITE_EN_PASSANT_Y;
+
+	static {
+		for (Piece piece : Piece.values()) {
+			char symbol = PIECE_LETTERS.charAt(piece.getType().ordinal());
+			if (piece.getColor() == Color.WHITE) {
+				symbol = Character.toUpperCase(symbol);
+			}
+			SYMBOLS[piece.ordinal()] = symbol;
+			PIECES_BY_SYMBOL[symbol] = piece;
+		}
+	}
+
+	private Fen() {
+	}
+
+	/**
+	 * Creates board of given position
+	 *
+	 * @param fen
+	 *            position in Forsyth-Edwards Notation
+	 * @return new board with empty move history
+	 * @throws InvalidFenException
+	 *             in case the position cannot be read
+	 */
+	public static Board parse(String fen) throws InvalidFenException {
+		Board board = new Board();
+		load(fen, board);
+		return board;
+	}
+
+	/**
+	 * Clears given board and sets up given position on it
+	 *
+	 * @param fen
+	 *            position in Forsyth-Edwards Notation
+	 * @param board
+	 *            board to reuse
+	 * @throws InvalidFenException
+	 *             in case the position cannot be read, the board is left in
+	 *             undefined state then
+	 */
+	public static void load(String fen, Board board) throws InvalidFenException {
+		board.clear();
+		int index = parsePlacement(fen, board);
+
+		index = skipSpace(fen, index);
+		Color sideToMove = parseSideToMove(fen, index);
+		board.setSideToMove(sideToMove);
+		index = skipSpace(fen, index + 1);
+		index = parseCastlingRights(fen, index, board);
+		index = skipSpace(fen, index);
+		index = parseEnPassantSquare(fen, index, sideToMove, board);
+
+		if (index < fen.length()) {
+			index = skipSpace(fen, index);
+			int halfmoveClock = parseNumber(fen, index);
+			index = skipNumber(fen, index);
+			index = skipSpace(fen, index);
+			int fullmoveNumber = parseNumber(fen, index);
+			index = skipNumber(fen, index);
+			if (index < fen.length()) {
+				throw new InvalidFenException("Unexpected characters at " + index);
+			}
+			board.setHalfmoveClock(halfmoveClock);
+			board.setFullmoveNumber(Math.max(1, fullmoveNumber));
+		}
+	}
+
+	/**
+	 * Writes position of given board
+	 *
+	 * @param board
+	 *            chess board
+	 * @return position in Forsyth-Edwards Notation
+	 */
+	public static String format(Board board) {
+		StringBuilder fen = new StringBuilder(MAX_LENGTH);
+		for (int y = Board.SIZE - 1; y >= 0; y--) {
+			int emptySquares = 0;
+			for (int x = 0; x < Board.SIZE; x++) {
+				Piece piece = board.getPieceAt(Bitboards.square(x, y));
+				if (piece == null) {
+					emptySquares++;
+					continue;
+				}
+				if (emptySquares > 0) {
+					fen.append((char) ('0' + emptySquares));
+					emptySquares = 0;
+				}
+				fen.append(SYMBOLS[piece.ordinal()]);
+			}
+			if (emptySquares > 0) {
+				fen.append((char) ('0' + emptySquares));
+			}
+			if (y > 0) {
+				fen.append('/');
+			}
+		}
+
+		fen.append(' ').append(board.getSideToMove() == Color.WHITE ? 'w' : 'b').append(' ');
+
+		int castlingRights = board.getCastlingRights();
+		if (castlingRights == 0) {
+			fen.append('-');
+		}
+		for (int i = 0; i < CASTLING_RIGHTS.length; i++) {
+			if ((castlingRights & CASTLING_RIGHTS[i]) != 0) {
+				fen.append(CASTLING_SYMBOLS.charAt(i));
+			}
+		}
+
+		fen.append(' ');
+		int enPassantSquare = board.getEnPassantSquare();
+		if (enPassantSquare == Board.NO_SQUARE) {
+			fen.append('-');
+		} else {
+			fen.append((char) ('a' + Bitboards.x(enPassantSquare))).append(Bitboards.y(enPassantSquare) + 1);
+		}
+
+		return fen.append(' ').append(board.getHalfmoveClock()).append(' ').append(board.getFullmoveNumber())
+				.toString();
+	}
+
+	private static int parsePlacement(String fen, Board board) throws InvalidFenException {
+		int x = 0;
+		int y = Board.SIZE - 1;
+		int index = 0;
+		for (; index < fen.length() && fen.charAt(index) != ' '; index++) {
+			char symbol = fen.charAt(index);
+			if (symbol == '/') {
+				if (x != Board.SIZE || y == 0) {
+					throw new InvalidFenException("Row " + (y + 1) + " must have " + Board.SIZE + " squares");
+				}
+				x = 0;
+				y--;
+			} else if (symbol >= '1' && symbol <= '8') {
+				x += symbol - '0';
+				if (x > Board.SIZE) {
+					throw new InvalidFenException("Row " + (y + 1) + " must have " + Board.SIZE + " squares");
+				}
+			} else {
+				Piece piece = symbol < PIECES_BY_SYMBOL.length ? PIECES_BY_SYMBOL[symbol] : null;
+				if (piece == null) {
+					throw new InvalidFenException("Unknown piece '" + symbol + "'");
+				}
+				if (x >= Board.SIZE) {
+					throw new InvalidFenException("Row " + (y + 1) + " must have " + Board.SIZE + " squares");
+				}
+				board.setPieceAt(piece, Bitboards.square(x, y));
+				x++;
+			}
+		}
+		if (x != Board.SIZE || y != 0) {
+			throw new InvalidFenException("Piece placement must have " + Board.SIZE + " rows of " + Board.SIZE
+					+ " squares");
+		}
+		return index;
+	}
+
+	private static Color parseSideToMove(String fen, int index) throws InvalidFenException {
+		char symbol = index < fen.length() ? fen.charAt(index) : ' ';
+		if (symbol == 'w') {
+			return Color.WHITE;
+		}
+		if (symbol == 'b') {
+			return Color.BLACK;
+		}
+		throw new InvalidFenException("Side to move must be 'w' or 'b'");
+	}
+
+	private static int parseCastlingRights(String fen, int index, Board board) throws InvalidFenException {
+		if (index < fen.length() && fen.charAt(index) == '-') {
+			board.setCastlingRights(0);
+			return index + 1;
+		}
+		int castlingRights = 0;
+		for (; index < fen.length() && fen.charAt(index) != ' '; index++) {
+			int i = CASTLING_SYMBOLS.indexOf(fen.charAt(index));
+			if (i < 0) {
+				throw new InvalidFenException("Unknown castling right '" + fen.charAt(index) + "'");
+			}
+			castlingRights |= CASTLING_RIGHTS[i];
+		}
+		if (castlingRights == 0) {
+			throw new InvalidFenException("Castling rights must be '-' or letters of 'KQkq'");
+		}
+		board.setCastlingRights(castlingRights);
+		return index;
+	}
+
+	private static int parseEnPassantSquare(String fen, int index, Color sideToMove, Board board)
+			throws InvalidFenException {
+		if (index < fen.length() && fen.charAt(index) == '-') {
+			return index + 1;
+		}
+		int expectedY = sideToMove == Color.WHITE ? BLACK_EN_PASSANT_Y : WHITE_EN_PASSANT_Y;
+		if (index + 1 >= fen.length() || fen.charAt(index) < 'a' || fen.charAt(index) > 'h'
+				|| fen.charAt(index + 1) != (char) ('1' + expectedY)) {
+			throw new InvalidFenException("En passant square must be '-' or square in row " + (expectedY + 1));
+		}
+		board.setEnPassantSquare(Bitboards.square(fen.charAt(index) - 'a', expectedY));
+		return index + 2;
+	}
+
+	private static int parseNumber(String fen, int index) throws InvalidFenException {
+		int number = 0;
+		int end = skipNumber(fen, index);
+		if (end == index || end - index > MAX_NUMBER_DIGITS) {
+			throw new InvalidFenException("Number expected at " + index);
+		}
+		for (; index < end; index++) {
+			number = 10 * number + fen.charAt(index) - '0';
+		}
+		return number;
+	}
+
+	private static int skipNumber(String fen, int index) {
+		while (index < fen.length() && fen.charAt(index) >= '0' && fen.charAt(index) <= '9') {
+			index++;
+		}
+		return index;
+	}
+
+	private static int skipSpace(String fen, int index) throws InvalidFenException {
+		if (index >= fen.length() || fen.charAt(index) != ' ') {
+			throw new InvalidFenException("Space expected at " + index);
+		}
+		return index + 1;
+	}
+}
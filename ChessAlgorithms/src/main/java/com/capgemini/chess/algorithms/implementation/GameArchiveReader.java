@@ -0,0 +1,197 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.GameResult;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Reads binary archive written by {@link GameArchiveWriter}. The file is
+ * memory-mapped and games are accessed by index, so reading moves does not
+ * allocate anything. Files larger than 2 GB are mapped in segments which
+ * overlap by the size of the largest game, so each game lies in one
+ * segment.
+ * <p>
+ * The reader only uses absolute reads of the mapped buffers, so it can be
+ * shared by threads.
+ *
+ */
+public class GameArchiveReader implements Closeable {
+
+	private static final long SEGMENT_SIZE = 1L << 30;
+	private static final int MAX_GAME_SIZE = GameArchiveWriter.GAME_HEADER_SIZE
+			+ Short.BYTES * GameArchiveWriter.MAX_PLY_COUNT;
+	private static final int PLY_COUNT_OFFSET = 2;
+	private static final int WHITE_PLAYER_OFFSET = 4;
+	private static final int BLACK_PLAYER_OFFSET = 8;
+	private static final GameResult[] RESULTS = GameResult.values();
+
+	private final FileChannel channel;
+	private final ByteBuffer[] segments;
+	private final long gameCount;
+	private final long indexOffset;
+
+	private GameArchiveReader(FileChannel channel, ByteBuffer[] segments, long gameCount, long indexOffset) {
+		this.channel = channel;
+		this.segments = segments;
+		this.gameCount = gameCount;
+		this.indexOffset = indexOffset;
+	}
+
+	/**
+	 * Opens and maps archive
+	 *
+	 * @param path
+	 *            archive file
+	 * @return reader of the archive
+	 * @throws IOException
+	 *             in case the file cannot be mapped or is not an archive
+	 */
+	public static GameArchiveReader open(Path path) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			long size = channel.size();
+			if (size < GameArchiveWriter.HEADER_SIZE) {
+				throw new IOException("Archive is truncated");
+			}
+			ByteBuffer[] segments = new ByteBuffer[(int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+			for (int i = 0; i < segments.length; i++) {
+				long start = i * SEGMENT_SIZE;
+				long length = Math.min(size - start, SEGMENT_SIZE + MAX_GAME_SIZE);
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length)
+						.order(GameArchiveWriter.BYTE_ORDER);
+			}
+			GameArchiveWriter.checkHeader(segments[0]);
+			long gameCount = segments[0].getLong(GameArchiveWriter.GAME_COUNT_OFFSET);
+			long indexOffset = segments[0].getLong(GameArchiveWriter.INDEX_OFFSET_OFFSET);
+			if (indexOffset + gameCount * Long.BYTES > size) {
+				throw new IOException("Archive is truncated");
+			}
+			return new GameArchiveReader(channel, segments, gameCount, indexOffset);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	public long getGameCount() {
+		return gameCount;
+	}
+
+	/**
+	 * Gets result of the game
+	 *
+	 * @param game
+	 *            game index, 0 - {@link #getGameCount()} - 1
+	 * @return result from white's point of view, null if unknown
+	 */
+	public GameResult getResult(long game) {
+		long offset = gameOffset(game);
+		int code = segmentOf(offset).get(positionOf(offset));
+		return code == 0 ? null : RESULTS[code - 1];
+	}
+
+	public int getWhitePlayerId(long game) {
+		long offset = gameOffset(game);
+		return segmentOf(offset).getInt(positionOf(offset) + WHITE_PLAYER_OFFSET);
+	}
+
+	public int getBlackPlayerId(long game) {
+		long offset = gameOffset(game);
+		return segmentOf(offset).getInt(positionOf(offset) + BLACK_PLAYER_OFFSET);
+	}
+
+	public int getPlyCount(long game) {
+		long offset = gameOffset(game);
+		return segmentOf(offset).getShort(positionOf(offset) + PLY_COUNT_OFFSET) & 0xFFFF;
+	}
+
+	/**
+	 * Gets move of the game
+	 *
+	 * @param game
+	 *            game index
+	 * @param ply
+	 *            ply index, 0 - {@link #getPlyCount(long)} - 1
+	 * @return move in 16-bit {@link PackedMove} encoding
+	 */
+	public short getMove(long game, int ply) {
+		long offset = gameOffset(game);
+		ByteBuffer segment = segmentOf(offset);
+		int position = positionOf(offset);
+		if (ply < 0 || ply >= (segment.getShort(position + PLY_COUNT_OFFSET) & 0xFFFF)) {
+			throw new IndexOutOfBoundsException("Ply " + ply + " of game " + game);
+		}
+		return segment.getShort(position + GameArchiveWriter.GAME_HEADER_SIZE + Short.BYTES * ply);
+	}
+
+	/**
+	 * Copies moves of the game to given array
+	 *
+	 * @param game
+	 *            game index
+	 * @param moves
+	 *            array for moves in 16-bit {@link PackedMove} encoding, at
+	 *            least {@link #getPlyCount(long)} long
+	 * @return number of plies
+	 */
+	public int getMoves(long game, short[] moves) {
+		long offset = gameOffset(game);
+		ByteBuffer segment = segmentOf(offset);
+		int position = positionOf(offset);
+		int plyCount = segment.getShort(position + PLY_COUNT_OFFSET) & 0xFFFF;
+		position += GameArchiveWriter.GAME_HEADER_SIZE;
+		for (int ply = 0; ply < plyCount; ply++) {
+			moves[ply] = segment.getShort(position + Short.BYTES * ply);
+		}
+		return plyCount;
+	}
+
+	/**
+	 * Performs moves of the game on given board, which should be in the
+	 * initial position. Moves are played with {@link Board#playMove(int)},
+	 * so nothing is allocated and the moves are not added to move history.
+	 *
+	 * @param game
+	 *            game index
+	 * @param board
+	 *            chess board
+	 */
+	public void replay(long game, Board board) {
+		long offset = gameOffset(game);
+		ByteBuffer segment = segmentOf(offset);
+		int position = positionOf(offset);
+		int plyCount = segment.getShort(position + PLY_COUNT_OFFSET) & 0xFFFF;
+		position += GameArchiveWriter.GAME_HEADER_SIZE;
+		for (int ply = 0; ply < plyCount; ply++) {
+			board.playMove(PackedMove.fromShort(segment.getShort(position + Short.BYTES * ply)));
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private long gameOffset(long game) {
+		if (game < 0 || game >= gameCount) {
+			throw new IndexOutOfBoundsException("Game " + game + " of " + gameCount);
+		}
+		long entry = indexOffset + game * Long.BYTES;
+		return segmentOf(entry).getLong(positionOf(entry));
+	}
+
+	private ByteBuffer segmentOf(long offset) {
+		return segments[(int) (offset / SEGMENT_SIZE)];
+	}
+
+	private static int positionOf(long offset) {
+		return (int) (offset % SEGMENT_SIZE);
+	}
+}
@@ -0,0 +1,230 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.GameResult;
+
+/**
+ * Writes games to a binary archive read by {@link GameArchiveReader}.
+ * <p>
+ * Archive layout, little endian:
+ * <ul>
+ * <li>header: magic number (4 bytes), format version (4), number of games
+ * (8) and offset of the game index (8)</li>
+ * <li>games, each of them: result (1 byte, 0 if unknown, 1 + ordinal of
+ * {@link GameResult} from white's point of view), reserved byte, number of
+ * plies (2), white player id (4), black player id (4) and moves in 16-bit
+ * {@link PackedMove} encoding (2 per ply)</li>
+ * <li>game index: offset of each game (8 bytes per game)</li>
+ * </ul>
+ * The index is written and the header updated when the writer is closed.
+ * When appending, new games are written after the old index, so an archive
+ * whose writer did not finish still holds its previous games and the old
+ * index is left unused.
+ *
+ */
+public class GameArchiveWriter implements Closeable {
+
+	static final int MAGIC = 0x41474843;
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 24;
+	static final int GAME_COUNT_OFFSET = 8;
+	static final int INDEX_OFFSET_OFFSET = 16;
+	static final int GAME_HEADER_SIZE = 12;
+	static final int MAX_PLY_COUNT = 0xFFFF;
+	static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int INITIAL_INDEX_CAPACITY = 1024;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BYTE_ORDER);
+	private long[] gameOffsets;
+	private long gameCount;
+	private long bufferStart;
+
+	private GameArchiveWriter(FileChannel channel, long[] gameOffsets, long gameCount, long end) {
+		this.channel = channel;
+		this.gameOffsets = gameOffsets;
+		this.gameCount = gameCount;
+		this.bufferStart = end;
+	}
+
+	/**
+	 * Creates new empty archive, existing file is overwritten
+	 *
+	 * @param path
+	 *            archive file
+	 * @return writer of the archive
+	 * @throws IOException
+	 *             in case the file cannot be created
+	 */
+	public static GameArchiveWriter create(Path path) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		GameArchiveWriter writer = new GameArchiveWriter(channel, new long[INITIAL_INDEX_CAPACITY], 0L,
+				HEADER_SIZE);
+		writer.writeHeader(0L, 0L);
+		return writer;
+	}
+
+	/**
+	 * Opens archive for appending games, the archive is created if it does
+	 * not exist
+	 *
+	 * @param path
+	 *            archive file
+	 * @return writer of the archive
+	 * @throws IOException
+	 *             in case the file cannot be opened or is not an archive
+	 */
+	public static GameArchiveWriter append(Path path) throws IOException {
+		if (!Files.exists(path) || Files.size(path) == 0) {
+			return create(path);
+		}
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+			readFully(channel, header, 0L);
+			checkHeader(header);
+			long gameCount = header.getLong(GAME_COUNT_OFFSET);
+			long indexOffset = header.getLong(INDEX_OFFSET_OFFSET);
+			if (gameCount > Integer.MAX_VALUE / Long.BYTES) {
+				throw new IOException("Too many games to append to: " + gameCount);
+			}
+			ByteBuffer index = ByteBuffer.allocate((int) gameCount * Long.BYTES).order(BYTE_ORDER);
+			readFully(channel, index, indexOffset);
+			long[] gameOffsets = new long[Math.max(INITIAL_INDEX_CAPACITY, (int) gameCount)];
+			index.asLongBuffer().get(gameOffsets, 0, (int) gameCount);
+			return new GameArchiveWriter(channel, gameOffsets, gameCount, channel.size());
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Appends game to the archive
+	 *
+	 * @param moves
+	 *            moves from the initial position with move type set, e.g. move
+	 *            history of a board
+	 * @param result
+	 *            result from white's point of view, null if unknown
+	 * @param whitePlayerId
+	 *            id of white player
+	 * @param blackPlayerId
+	 *            id of black player
+	 * @throws IOException
+	 *             in case the game cannot be written
+	 */
+	public void writeGame(List<Move> moves, GameResult result, int whitePlayerId, int blackPlayerId)
+			throws IOException {
+		if (moves.size() > MAX_PLY_COUNT) {
+			throw new IllegalArgumentException("Game must not have more than " + MAX_PLY_COUNT + " plies");
+		}
+		for (Move move : moves) {
+			if (move.getType() == null) {
+				throw new IllegalArgumentException("Move type must be set");
+			}
+		}
+		if (gameCount == gameOffsets.length) {
+			gameOffsets = Arrays.copyOf(gameOffsets, 2 * gameOffsets.length);
+		}
+		gameOffsets[(int) gameCount++] = end();
+
+		ensureRemaining(GAME_HEADER_SIZE);
+		buffer.put((byte) (result == null ? 0 : result.ordinal() + 1));
+		buffer.put((byte) 0);
+		buffer.putShort((short) moves.size());
+		buffer.putInt(whitePlayerId);
+		buffer.putInt(blackPlayerId);
+		for (Move move : moves) {
+			ensureRemaining(Short.BYTES);
+			buffer.putShort(PackedMove.toShort(PackedMove.fromMove(move)));
+		}
+	}
+
+	/**
+	 * Gets number of games in the archive, including games written before it
+	 * was opened
+	 *
+	 * @return number of games
+	 */
+	public long getGameCount() {
+		return gameCount;
+	}
+
+	/**
+	 * Writes game index and header, then closes the archive
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			long indexOffset = end();
+			for (int game = 0; game < gameCount; game++) {
+				ensureRemaining(Long.BYTES);
+				buffer.putLong(gameOffsets[game]);
+			}
+			flush();
+			channel.force(false);
+			writeHeader(gameCount, indexOffset);
+			channel.force(false);
+		} finally {
+			channel.close();
+		}
+	}
+
+	static void checkHeader(ByteBuffer header) throws IOException {
+		if (header.getInt(0) != MAGIC || header.getInt(Integer.BYTES) != VERSION) {
+			throw new IOException("Not a game archive of version " + VERSION);
+		}
+	}
+
+	private void writeHeader(long count, long indexOffset) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+		header.putInt(MAGIC).putInt(VERSION).putLong(count).putLong(indexOffset).flip();
+		long offset = 0L;
+		while (header.hasRemaining()) {
+			offset += channel.write(header, offset);
+		}
+	}
+
+	private void ensureRemaining(int bytes) throws IOException {
+		if (buffer.remaining() < bytes) {
+			flush();
+		}
+	}
+
+	private long end() {
+		return bufferStart + buffer.position();
+	}
+
+	private void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			bufferStart += channel.write(buffer, bufferStart);
+		}
+		buffer.clear();
+	}
+
+	private static void readFully(FileChannel channel, ByteBuffer target, long offset) throws IOException {
+		while (target.hasRemaining()) {
+			if (channel.read(target, offset + target.position()) < 0) {
+				throw new IOException("Archive is truncated");
+			}
+		}
+		target.flip();
+	}
+}
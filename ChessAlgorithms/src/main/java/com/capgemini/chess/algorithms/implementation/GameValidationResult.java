@@ -0,0 +1,106 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import com.capgemini.chess.algorithms.data.enums.BoardState;
+import com.capgemini.chess.algorithms.data.enums.MoveValidationResult;
+
+/**
+ * Result of validation of one game by {@link BatchGameValidator}. Board
+ * state and draw rule flags describe the last position reached, i.e. the
+ * final position of a legal game or the position before the first illegal
+ * move.
+ *
+ */
+public class GameValidationResult {
+
+	private final long gameIndex;
+	private int plyCount;
+	private MoveValidationResult rejection = MoveValidationResult.VALID;
+	private BoardState boardState;
+	private boolean threefoldRepetition;
+	private boolean fiftyMoveRule;
+	private boolean seventyFiveMoveRule;
+
+	GameValidationResult(long gameIndex) {
+		this.gameIndex = gameIndex;
+	}
+
+	/**
+	 * Gets position of the game in the validated sequence
+	 *
+	 * @return game index, starting at 0
+	 */
+	public long getGameIndex() {
+		return gameIndex;
+	}
+
+	public boolean isLegal() {
+		return rejection == MoveValidationResult.VALID;
+	}
+
+	/**
+	 * Gets number of legal moves performed
+	 *
+	 * @return number of plies
+	 */
+	public int getPlyCount() {
+		return plyCount;
+	}
+
+	/**
+	 * Gets index of the first illegal move in the move list
+	 *
+	 * @return ply index, -1 if all moves are legal
+	 */
+	public int getIllegalPly() {
+		return isLegal() ? -1 : plyCount;
+	}
+
+	/**
+	 * Gets reason of rejection of the first illegal move
+	 *
+	 * @return {@link MoveValidationResult#VALID} if all moves are legal
+	 */
+	public MoveValidationResult getRejection() {
+		return rejection;
+	}
+
+	public BoardState getBoardState() {
+		return boardState;
+	}
+
+	public boolean isThreefoldRepetition() {
+		return threefoldRepetition;
+	}
+
+	public boolean isFiftyMoveRule() {
+		return fiftyMoveRule;
+	}
+
+	public boolean isSeventyFiveMoveRule() {
+		return seventyFiveMoveRule;
+	}
+
+	void setPlyCount(int plyCount) {
+		this.plyCount = plyCount;
+	}
+
+	void setRejection(MoveValidationResult rejection) {
+		this.rejection = rejection;
+	}
+
+	void setBoardState(BoardState boardState) {
+		this.boardState = boardState;
+	}
+
+	void setThreefoldRepetition(boolean threefoldRepetition) {
+		this.threefoldRepetition = threefoldRepetition;
+	}
+
+	void setFiftyMoveRule(boolean fiftyMoveRule) {
+		this.fiftyMoveRule = fiftyMoveRule;
+	}
+
+	void setSeventyFiveMoveRule(boolean seventyFiveMoveRule) {
+		this.seventyFiveMoveRule = seventyFiveMoveRule;
+	}
+}
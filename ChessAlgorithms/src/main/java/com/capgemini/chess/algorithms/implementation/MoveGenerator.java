@@ -0,0 +1,303 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import java.util.List;
+
+import com.capgemini.chess.algorithms.bitboard.AttackTables;
+import com.capgemini.chess.algorithms.bitboard.Bitboards;
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.MoveList;
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Generator of legal moves. Checkers and pinned pieces are calculated once per
+ * position by {@link PositionAnalysis}, so moves of pieces other than the king
+ * are filtered with masks instead of being tried on the board. King moves and
+ * castlings are checked square by square with the attacks known to the
+ * analysis, and en passant captures, which remove two pieces from the king's
+ * lines, get an explicit check test.
+ *
+ */
+public class MoveGenerator {
+
+	private static final int NO_SQUARE = Board.NO_SQUARE;
+	private static final PieceType[] PROMOTIONS = { PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP,
+			PieceType.KNIGHT };
+	private static final int QUEEN_SIDE_ROOK_X = 0;
+	private static final int KING_SIDE_ROOK_X = Board.SIZE - 1;
+
+	private final Board board;
+	private final PositionAnalysis analysis;
+	private final MoveList foundMoves = new MoveList();
+
+	private Color color;
+	private Color opponentColor;
+	private long ours;
+	private long theirs;
+	private long occupancy;
+	private int kingSquare;
+	private long checkMask;
+	private long targetMask;
+
+	public MoveGenerator(Board board) {
+		this(board, new PositionAnalysis(board));
+	}
+
+	/**
+	 * Creates generator using given analysis of the board, so its owner can
+	 * share the analysis, see {@link #hasLegalMoveInAnalysedPosition()}
+	 */
+	MoveGenerator(Board board, PositionAnalysis analysis) {
+		this.board = board;
+		this.analysis = analysis;
+	}
+
+	/**
+	 * Generates all legal moves of given color in the current position
+	 *
+	 * @param color
+	 *            color of the side to move
+	 * @return list of legal moves
+	 */
+	public List<Move> generateLegalMoves(Color color) {
+		MoveList moves = new MoveList();
+		generateLegalMoves(color, moves);
+		return moves.toMoves();
+	}
+
+	/**
+	 * Generates all legal moves of given color in the current position in
+	 * {@link PackedMove} encoding
+	 *
+	 * @param color
+	 *            color of the side to move
+	 * @param moves
+	 *            list the moves are added to, it is not cleared
+	 */
+	public void generateLegalMoves(Color color, MoveList moves) {
+		analysePosition(color);
+
+		if (kingSquare != NO_SQUARE) {
+			addKingMoves(moves);
+			if (analysis.isDoubleCheck()) {
+				return;
+			}
+			if (!analysis.isInCheck()) {
+				addCastlings(moves);
+			}
+		}
+
+		addPieceMoves(moves, pieceOf(color, PieceType.KNIGHT));
+		addPieceMoves(moves, pieceOf(color, PieceType.BISHOP));
+		addPieceMoves(moves, pieceOf(color, PieceType.ROOK));
+		addPieceMoves(moves, pieceOf(color, PieceType.QUEEN));
+		addPawnMoves(moves);
+		addEnPassants(moves);
+	}
+
+	/**
+	 * Generates legal captures, en passant captures and promotions of given
+	 * color in the current position in {@link PackedMove} encoding. Quiet
+	 * moves, pawn pushes other than promotions and castlings are skipped
+	 * without being generated.
+	 *
+	 * @param color
+	 *            color of the side to move
+	 * @param moves
+	 *            list the moves are added to, it is not cleared
+	 */
+	public void generateCaptures(Color color, MoveList moves) {
+		analysePosition(color);
+		targetMask = theirs;
+
+		if (kingSquare != NO_SQUARE) {
+			addKingMoves(moves);
+			if (analysis.isDoubleCheck()) {
+				return;
+			}
+		}
+
+		addPieceMoves(moves, pieceOf(color, PieceType.KNIGHT));
+		addPieceMoves(moves, pieceOf(color, PieceType.BISHOP));
+		addPieceMoves(moves, pieceOf(color, PieceType.ROOK));
+		addPieceMoves(moves, pieceOf(color, PieceType.QUEEN));
+		addPawnMoves(moves);
+		addEnPassants(moves);
+	}
+
+	/**
+	 * Checks if given color has any legal move in the current position.
+	 * Generation stops at the first group of pieces which has a move.
+	 *
+	 * @param color
+	 *            color of the side to move
+	 * @return true if there is a legal move, false otherwise
+	 */
+	public boolean hasLegalMove(Color color) {
+		analysis.analyse(color);
+		return hasLegalMoveInAnalysedPosition();
+	}
+
+	/**
+	 * Checks if the color last analysed by the analysis of this generator has
+	 * any legal move, without analysing the position again
+	 *
+	 * @return true if there is a legal move, false otherwise
+	 */
+	boolean hasLegalMoveInAnalysedPosition() {
+		loadAnalysis();
+		foundMoves.clear();
+
+		if (kingSquare != NO_SQUARE) {
+			addKingMoves(foundMoves);
+			// castling is legal only if the king can also step to the square
+			// it passes, so castlings never add the only legal move
+			if (!foundMoves.isEmpty() || analysis.isDoubleCheck()) {
+				return !foundMoves.isEmpty();
+			}
+		}
+
+		addPieceMoves(foundMoves, pieceOf(color, PieceType.KNIGHT));
+		addPieceMoves(foundMoves, pieceOf(color, PieceType.BISHOP));
+		addPieceMoves(foundMoves, pieceOf(color, PieceType.ROOK));
+		addPieceMoves(foundMoves, pieceOf(color, PieceType.QUEEN));
+		if (!foundMoves.isEmpty()) {
+			return true;
+		}
+		addPawnMoves(foundMoves);
+		addEnPassants(foundMoves);
+		return !foundMoves.isEmpty();
+	}
+
+	private void analysePosition(Color color) {
+		analysis.analyse(color);
+		loadAnalysis();
+	}
+
+	private void loadAnalysis() {
+		this.color = analysis.getColor();
+		this.opponentColor = color == Color.WHITE ? Color.BLACK : Color.WHITE;
+		this.ours = board.getOccupancy(color);
+		this.theirs = board.getOccupancy(opponentColor);
+		this.occupancy = board.getOccupancy();
+		this.kingSquare = analysis.getKingSquare();
+		this.checkMask = analysis.getCheckMask();
+		this.targetMask = Bitboards.FULL;
+	}
+
+	private void addKingMoves(MoveList moves) {
+		Piece king = pieceOf(color, PieceType.KING);
+		long targets = AttackTables.kingAttacks(kingSquare) & ~ours & targetMask;
+		for (; targets != Bitboards.EMPTY; targets &= targets - 1) {
+			int to = Bitboards.lowestSquare(targets);
+			if (analysis.isKingMoveLegal(to)) {
+				moves.add(createMove(king, kingSquare, to, captureOrAttack(to)));
+			}
+		}
+	}
+
+	private void addCastlings(MoveList moves) {
+		int castlingRights = board.getCastlingRights();
+		addCastling(moves, castlingRights, KING_SIDE_ROOK_X, 1);
+		addCastling(moves, castlingRights, QUEEN_SIDE_ROOK_X, -1);
+	}
+
+	private void addCastling(MoveList moves, int castlingRights, int rookX, int direction) {
+		if ((castlingRights & Board.castlingRight(color, direction > 0)) == 0) {
+			return;
+		}
+		int rookSquare = Bitboards.square(rookX, Bitboards.y(kingSquare));
+		int to = kingSquare + 2 * direction;
+		if ((AttackTables.between(kingSquare, rookSquare) & occupancy) == Bitboards.EMPTY
+				&& analysis.isCastlingLegal(to)) {
+			moves.add(createMove(pieceOf(color, PieceType.KING), kingSquare, to, MoveType.CASTLING));
+		}
+	}
+
+	private void addPieceMoves(MoveList moves, Piece piece) {
+		for (long pieces = board.getBitboard(piece); pieces != Bitboards.EMPTY; pieces &= pieces - 1) {
+			int from = Bitboards.lowestSquare(pieces);
+			long targets = AttackTables.attacks(piece, from, occupancy) & ~ours & checkMask & pinMaskOf(from)
+					& targetMask;
+			for (; targets != Bitboards.EMPTY; targets &= targets - 1) {
+				int to = Bitboards.lowestSquare(targets);
+				moves.add(createMove(piece, from, to, captureOrAttack(to)));
+			}
+		}
+	}
+
+	private void addPawnMoves(MoveList moves) {
+		Piece pawn = pieceOf(color, PieceType.PAWN);
+		int forward = color == Color.WHITE ? Board.SIZE : -Board.SIZE;
+		int startY = color == Color.WHITE ? 1 : Board.SIZE - 2;
+		int lastY = color == Color.WHITE ? Board.SIZE - 1 : 0;
+		for (long pawns = board.getBitboard(pawn); pawns != Bitboards.EMPTY; pawns &= pawns - 1) {
+			int from = Bitboards.lowestSquare(pawns);
+			boolean isPromotion = Bitboards.y(from + forward) == lastY;
+			long allowed = checkMask & pinMaskOf(from);
+			if (!isPromotion) {
+				allowed &= targetMask;
+			}
+
+			long targets = AttackTables.pawnAttacks(color, from) & theirs;
+			int oneStep = from + forward;
+			if (Bitboards.y(from) != lastY && !Bitboards.contains(occupancy, oneStep)) {
+				targets |= Bitboards.bit(oneStep);
+				int twoSteps = oneStep + forward;
+				if (Bitboards.y(from) == startY && !Bitboards.contains(occupancy, twoSteps)) {
+					targets |= Bitboards.bit(twoSteps);
+				}
+			}
+			for (targets &= allowed; targets != Bitboards.EMPTY; targets &= targets - 1) {
+				int to = Bitboards.lowestSquare(targets);
+				if (isPromotion) {
+					for (PieceType promotion : PROMOTIONS) {
+						moves.add(PackedMove.of(from, to, captureOrAttack(to), pawn, promotion));
+					}
+				} else {
+					moves.add(createMove(pawn, from, to, captureOrAttack(to)));
+				}
+			}
+		}
+	}
+
+	private void addEnPassants(MoveList moves) {
+		int target = board.getEnPassantSquare();
+		if (target == NO_SQUARE) {
+			return;
+		}
+		int capturedSquare = color == Color.WHITE ? target - Board.SIZE : target + Board.SIZE;
+		if (board.getPieceAt(capturedSquare) != pieceOf(opponentColor, PieceType.PAWN)) {
+			return;
+		}
+
+		Piece pawn = pieceOf(color, PieceType.PAWN);
+		long capturers = AttackTables.pawnAttacks(opponentColor, target) & board.getBitboard(pawn);
+		for (; capturers != Bitboards.EMPTY; capturers &= capturers - 1) {
+			int from = Bitboards.lowestSquare(capturers);
+			if (analysis.isEnPassantLegal(from, target, capturedSquare)) {
+				moves.add(createMove(pawn, from, target, MoveType.EN_PASSANT));
+			}
+		}
+	}
+
+	private long pinMaskOf(int square) {
+		return analysis.getPinMask(square);
+	}
+
+	private MoveType captureOrAttack(int to) {
+		return Bitboards.contains(theirs, to) ? MoveType.CAPTURE : MoveType.ATTACK;
+	}
+
+	private static int createMove(Piece piece, int from, int to, MoveType moveType) {
+		return PackedMove.of(from, to, moveType, piece);
+	}
+
+	private static Piece pieceOf(Color color, PieceType type) {
+		return Piece.of(color, type);
+	}
+}
@@ -0,0 +1,143 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.capgemini.chess.algorithms.data.Coordinate;
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.MoveList;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Performance test of move generation. Counts leaf nodes of the legal move
+ * tree to given depth, which both validates the generator against known
+ * numbers and measures its throughput.
+ *
+ */
+public class Perft {
+
+	private static final long NANOS_PER_SECOND = 1000000000L;
+	private static final String PROMOTION_LETTERS = "kqbnrp";
+
+	private final Board board;
+
+	public Perft(Board board) {
+		this.board = board;
+	}
+
+	/**
+	 * Counts leaf nodes reachable from the position in given number of plies
+	 *
+	 * @param depth
+	 *            number of plies
+	 * @return number of leaf nodes
+	 */
+	public long perft(int depth) {
+		return new Counter(new Board(board), depth).perft(depth);
+	}
+
+	/**
+	 * Counts leaf nodes separately for each legal root move
+	 *
+	 * @param depth
+	 *            number of plies, including root move
+	 * @return node counts keyed by root move in coordinate notation, e.g.
+	 *         "e2e4"
+	 */
+	public Map<String, Long> divide(int depth) {
+		Map<String, Long> nodesByMove = new LinkedHashMap<>();
+		Board copy = new Board(board);
+		Counter counter = new Counter(copy, depth);
+		for (Move move : new BoardManager(copy).generateLegalMoves()) {
+			copy.makeMove(move);
+			nodesByMove.put(toCoordinateNotation(move), counter.perft(depth - 1));
+			copy.unmakeMove();
+		}
+		return nodesByMove;
+	}
+
+	/**
+	 * Gets move in coordinate notation, e.g. "e2e4" or "e7e8n"
+	 *
+	 * @param move
+	 *            chess move
+	 * @return move notation
+	 */
+	public static String toCoordinateNotation(Move move) {
+		String notation = toCoordinateNotation(move.getFrom()) + toCoordinateNotation(move.getTo());
+		if (move.getPromotion() != null) {
+			notation += PROMOTION_LETTERS.charAt(move.getPromotion().ordinal());
+		}
+		return notation;
+	}
+
+	/**
+	 * Runs all reference positions to their maximal depth and prints node
+	 * counts, time and nodes per second of each of them.
+	 *
+	 * @param args
+	 *            optional maximal depth
+	 */
+	public static void main(String[] args) {
+		int depthLimit = args.length > 0 ? Integer.parseInt(args[0]) : Integer.MAX_VALUE;
+		boolean allPassed = true;
+		for (PerftPosition position : PerftPosition.values()) {
+			Perft perft = new Perft(position.createBoard());
+			for (int depth = 1; depth <= Math.min(depthLimit, position.getMaxDepth()); depth++) {
+				long start = System.nanoTime();
+				long nodes = perft.perft(depth);
+				long elapsed = Math.max(1L, System.nanoTime() - start);
+				boolean passed = nodes == position.getNodeCount(depth);
+				allPassed &= passed;
+				System.out.printf("%-14s depth %d: %12d nodes %8.3f s %12d nodes/s %s%n", position, depth, nodes,
+						(double) elapsed / NANOS_PER_SECOND, nodes * NANOS_PER_SECOND / elapsed,
+						passed ? "OK" : "FAILED, expected " + position.getNodeCount(depth));
+			}
+		}
+		if (!allPassed) {
+			System.exit(1);
+		}
+	}
+
+	private static String toCoordinateNotation(Coordinate coordinate) {
+		return String.valueOf((char) ('a' + coordinate.getX())) + (coordinate.getY() + 1);
+	}
+
+	/**
+	 * Recursive counter with one reusable move list per ply
+	 */
+	private static class Counter {
+
+		private final Board board;
+		private final MoveGenerator generator;
+		private final MoveList[] movesByDepth;
+
+		Counter(Board board, int maxDepth) {
+			this.board = board;
+			this.generator = new MoveGenerator(board);
+			this.movesByDepth = new MoveList[maxDepth + 1];
+			for (int depth = 0; depth <= maxDepth; depth++) {
+				movesByDepth[depth] = new MoveList();
+			}
+		}
+
+		long perft(int depth) {
+			if (depth == 0) {
+				return 1L;
+			}
+			MoveList moves = movesByDepth[depth];
+			moves.clear();
+			generator.generateLegalMoves(board.getSideToMove(), moves);
+			if (depth == 1) {
+				return moves.size();
+			}
+			long nodes = 0L;
+			for (int i = 0; i < moves.size(); i++) {
+				board.makeMove(moves.get(i));
+				nodes += perft(depth - 1);
+				board.unmakeMove();
+			}
+			return nodes;
+		}
+	}
+}
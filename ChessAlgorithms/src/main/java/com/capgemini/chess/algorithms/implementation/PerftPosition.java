@@ -0,0 +1,59 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidFenException;
+
+/**
+ * Reference positions with known perft node counts, given in Forsyth-Edwards
+ * Notation.
+ *
+ */
+public enum PerftPosition {
+
+	INITIAL(Fen.INITIAL_POSITION, 20L, 400L, 8902L, 197281L, 4865609L),
+	KIWIPETE("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", 48L, 2039L, 97862L, 4085603L),
+	ROOK_ENDGAME("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 14L, 191L, 2812L, 43238L, 674624L),
+	MIDDLEGAME("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", 46L, 2079L, 89890L,
+			3894594L),
+	PROMOTIONS("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 44L, 1486L, 62379L, 2103487L);
+
+	private final String fen;
+	private final long[] nodeCounts;
+
+	PerftPosition(String fen, long... nodeCounts) {
+		this.fen = fen;
+		this.nodeCounts = nodeCounts;
+	}
+
+	/**
+	 * Gets known number of leaf nodes
+	 *
+	 * @param depth
+	 *            perft depth, 1 - {@link #getMaxDepth()}
+	 * @return number of leaf nodes
+	 */
+	public long getNodeCount(int depth) {
+		return nodeCounts[depth - 1];
+	}
+
+	public int getMaxDepth() {
+		return nodeCounts.length;
+	}
+
+	public String getFen() {
+		return fen;
+	}
+
+	/**
+	 * Creates board of the position
+	 *
+	 * @return new board
+	 */
+	public Board createBoard() {
+		try {
+			return Fen.parse(fen);
+		} catch (InvalidFenException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
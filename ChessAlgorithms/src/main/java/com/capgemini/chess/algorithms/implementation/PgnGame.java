@@ -0,0 +1,113 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Game read by {@link PgnReader}: tag pairs, board with moves replayed from
+ * the movetext and game termination marker. If the game cannot be replayed,
+ * the board holds moves up to the first invalid one and error describes the
+ * problem.
+ *
+ */
+public class PgnGame {
+
+	private final int lineNumber;
+	private final Map<String, String> headers = new LinkedHashMap<>();
+	private Board board;
+	private String result;
+	private String error;
+
+	PgnGame(int lineNumber) {
+		this.lineNumber = lineNumber;
+	}
+
+	/**
+	 * Gets line of the input the game starts at
+	 *
+	 * @return line number, starting at 1
+	 */
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * Gets tag pairs in the order of the input
+	 *
+	 * @return unmodifiable map of tag values by tag names
+	 */
+	public Map<String, String> getHeaders() {
+		return Collections.unmodifiableMap(headers);
+	}
+
+	public String getHeader(String name) {
+		return headers.get(name);
+	}
+
+	/**
+	 * Gets board in the final position of the game. Its move history contains
+	 * the replayed moves.
+	 *
+	 * @return chess board, null if the starting position cannot be read
+	 */
+	public Board getBoard() {
+		return board;
+	}
+
+	/**
+	 * Gets replayed moves. Games without "FEN" tag start in the initial
+	 * position, so their moves can be passed to
+	 * {@link BoardManager#BoardManager(List)}.
+	 *
+	 * @return moves with moved piece, move type and promotion
+	 */
+	public List<Move> getMoves() {
+		return board == null ? Collections.<Move> emptyList() : board.getMoveHistory();
+	}
+
+	/**
+	 * Gets game termination marker
+	 *
+	 * @return "1-0", "0-1", "1/2-1/2" or "*", null if the movetext has no
+	 *         marker
+	 */
+	public String getResult() {
+		return result;
+	}
+
+	/**
+	 * Gets description of the first problem found in the game
+	 *
+	 * @return error message, null if the game is valid
+	 */
+	public String getError() {
+		return error;
+	}
+
+	public boolean isValid() {
+		return error == null;
+	}
+
+	void addHeader(String name, String value) {
+		headers.put(name, value);
+	}
+
+	void setBoard(Board board) {
+		this.board = board;
+	}
+
+	void setResult(String result) {
+		this.result = result;
+	}
+
+	void setError(String error) {
+		if (this.error == null) {
+			this.error = error;
+		}
+	}
+}
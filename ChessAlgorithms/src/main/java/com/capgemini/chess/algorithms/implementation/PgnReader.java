@@ -0,0 +1,271 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidFenException;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Streaming reader of games in Portable Game Notation. Games are read one by
+ * one from the underlying reader through a fixed size buffer, so memory use
+ * does not depend on the size of the input. Moves are resolved with
+ * {@link SanResolver} and replayed on the board of each game, starting from
+ * the position of the "FEN" tag if the game has one.
+ * <p>
+ * Comments, variations and numeric annotation glyphs are skipped. A game
+ * which cannot be replayed is returned with an error, see
+ * {@link PgnGame#getError()}, and reading continues with the next game.
+ *
+ */
+public class PgnReader implements Closeable {
+
+	private static final int END_OF_INPUT = -1;
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int MAX_TOKEN_LENGTH = 255;
+	private static final String FEN_TAG = "FEN";
+	private static final String EN_PASSANT_ANNOTATION = "e.p.";
+	private static final String TOKEN_DELIMITERS = "{}();[]\"$";
+	private static final String[] RESULTS = { "1-0", "0-1", "1/2-1/2", "*" };
+
+	private final Reader reader;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private int position;
+	private int limit;
+	private int lineNumber = 1;
+	private boolean isLineStart = true;
+	private final StringBuilder token = new StringBuilder();
+
+	public PgnReader(Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * Reads next game
+	 *
+	 * @return game, null if there are no more games
+	 * @throws IOException
+	 *             in case the underlying reader fails
+	 */
+	public PgnGame readGame() throws IOException {
+		skipWhitespaceAndComments();
+		if (peek() == END_OF_INPUT) {
+			return null;
+		}
+		PgnGame game = new PgnGame(lineNumber);
+		readHeaders(game);
+		setUpBoard(game);
+		readMovetext(game);
+		return game;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	private void readHeaders(PgnGame game) throws IOException {
+		while (peek() == '[') {
+			read();
+			skipSpaces();
+			readToken();
+			String name = token.toString();
+			skipSpaces();
+			if (name.isEmpty() || peek() != '"') {
+				game.setError("Line " + lineNumber + ": malformed tag");
+				skipLine();
+			} else {
+				read();
+				String value = readTagValue(game);
+				skipSpaces();
+				if (peek() == ']') {
+					read();
+					game.addHeader(name, value);
+				} else {
+					game.setError("Line " + lineNumber + ": malformed tag " + name);
+					skipLine();
+				}
+			}
+			skipWhitespaceAndComments();
+		}
+	}
+
+	private String readTagValue(PgnGame game) throws IOException {
+		token.setLength(0);
+		for (int c = read(); c != '"'; c = read()) {
+			if (c == END_OF_INPUT || c == '\n') {
+				game.setError("Line " + lineNumber + ": unterminated tag value");
+				break;
+			}
+			if (c == '\\' && (peek() == '"' || peek() == '\\')) {
+				c = read();
+			}
+			if (token.length() < MAX_TOKEN_LENGTH) {
+				token.append((char) c);
+			}
+		}
+		return token.toString();
+	}
+
+	private void setUpBoard(PgnGame game) {
+		String fen = game.getHeader(FEN_TAG);
+		try {
+			game.setBoard(Fen.parse(fen == null ? Fen.INITIAL_POSITION : fen));
+		} catch (InvalidFenException e) {
+			game.setError(e.getMessage());
+		}
+	}
+
+	private void readMovetext(PgnGame game) throws IOException {
+		SanResolver resolver = game.getBoard() == null ? null : new SanResolver(game.getBoard());
+		while (true) {
+			skipWhitespaceAndComments();
+			int c = peek();
+			if (c == END_OF_INPUT || c == '[') {
+				return;
+			}
+			if (c == '(') {
+				skipVariation();
+			} else if (c == '$') {
+				read();
+				readToken();
+			} else if (TOKEN_DELIMITERS.indexOf(c) >= 0) {
+				read();
+			} else {
+				readToken();
+				String result = resultOf(token);
+				if (result != null) {
+					game.setResult(result);
+					return;
+				}
+				if (game.isValid() && stripMoveNumber() && !isAnnotation()) {
+					try {
+						resolver.play(token);
+					} catch (InvalidMoveException e) {
+						game.setError("Line " + lineNumber + ": " + e.getMessage());
+					}
+				}
+			}
+		}
+	}
+
+	private static String resultOf(CharSequence token) {
+		for (String result : RESULTS) {
+			if (result.contentEquals(token)) {
+				return result;
+			}
+		}
+		return null;
+	}
+
+	private boolean stripMoveNumber() {
+		int start = 0;
+		while (start < token.length() && Character.isDigit(token.charAt(start))) {
+			start++;
+		}
+		if (start < token.length() && token.charAt(start) == '.') {
+			while (start < token.length() && token.charAt(start) == '.') {
+				start++;
+			}
+			token.delete(0, start);
+		}
+		return token.length() > 0;
+	}
+
+	private boolean isAnnotation() {
+		if (EN_PASSANT_ANNOTATION.contentEquals(token)) {
+			return true;
+		}
+		for (int i = 0; i < token.length(); i++) {
+			if (token.charAt(i) != '!' && token.charAt(i) != '?') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void readToken() throws IOException {
+		token.setLength(0);
+		for (int c = peek(); c != END_OF_INPUT && !Character.isWhitespace(c)
+				&& TOKEN_DELIMITERS.indexOf(c) < 0; c = peek()) {
+			read();
+			if (token.length() < MAX_TOKEN_LENGTH) {
+				token.append((char) c);
+			}
+		}
+	}
+
+	private void skipVariation() throws IOException {
+		int depth = 0;
+		do {
+			int c = read();
+			if (c == END_OF_INPUT) {
+				return;
+			} else if (c == '(') {
+				depth++;
+			} else if (c == ')') {
+				depth--;
+			} else if (c == '{') {
+				skipTo('}');
+			} else if (c == ';') {
+				skipLine();
+			}
+		} while (depth > 0);
+	}
+
+	private void skipWhitespaceAndComments() throws IOException {
+		while (true) {
+			int c = peek();
+			if (c == '{') {
+				skipTo('}');
+			} else if (c == ';' || (c == '%' && isLineStart)) {
+				skipLine();
+			} else if (c != END_OF_INPUT && Character.isWhitespace(c)) {
+				read();
+			} else {
+				return;
+			}
+		}
+	}
+
+	private void skipSpaces() throws IOException {
+		while (peek() == ' ' || peek() == '\t') {
+			read();
+		}
+	}
+
+	private void skipLine() throws IOException {
+		skipTo('\n');
+	}
+
+	private void skipTo(char end) throws IOException {
+		for (int c = read(); c != end && c != END_OF_INPUT; c = read()) {
+			// skipped
+		}
+	}
+
+	private int peek() throws IOException {
+		if (position == limit) {
+			limit = reader.read(buffer, 0, buffer.length);
+			position = 0;
+			if (limit <= 0) {
+				limit = 0;
+				return END_OF_INPUT;
+			}
+		}
+		return buffer[position];
+	}
+
+	private int read() throws IOException {
+		int c = peek();
+		if (c != END_OF_INPUT) {
+			position++;
+			isLineStart = c == '\n';
+			if (isLineStart) {
+				lineNumber++;
+			}
+		}
+		return c;
+	}
+}
@@ -0,0 +1,212 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import com.capgemini.chess.algorithms.bitboard.AttackTables;
+import com.capgemini.chess.algorithms.bitboard.Bitboards;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Checkers and absolute pins of one side, calculated once per position. With
+ * them a move of a non-pinned piece other than the king can be accepted in
+ * constant time: when the king is not in check it is always legal, otherwise
+ * it has to capture the checker or block the check. King moves, castling and
+ * en passant captures get an explicit attack test.
+ * <p>
+ * The analysis is valid until the board is changed, call
+ * {@link #analyse(Color)} again afterwards.
+ *
+ */
+public class PositionAnalysis {
+
+	private final Board board;
+
+	private Color color;
+	private Color opponentColor;
+	private long occupancy;
+	private int kingSquare;
+	private long checkers;
+	private long checkMask;
+	private long pinned;
+	private final long[] pinMasks = new long[Board.SIZE * Board.SIZE];
+
+	public PositionAnalysis(Board board) {
+		this.board = board;
+	}
+
+	/**
+	 * Calculates checkers and pinned pieces of given color
+	 *
+	 * @param color
+	 *            color of the king
+	 */
+	public void analyse(Color color) {
+		this.color = color;
+		this.opponentColor = color == Color.WHITE ? Color.BLACK : Color.WHITE;
+		this.occupancy = board.getOccupancy();
+		this.kingSquare = board.getKingSquare(color);
+		this.checkers = Bitboards.EMPTY;
+		this.checkMask = Bitboards.FULL;
+		this.pinned = Bitboards.EMPTY;
+
+		if (kingSquare == Board.NO_SQUARE) {
+			return;
+		}
+
+		checkers = board.getAttackers(kingSquare, opponentColor, occupancy);
+		if (Bitboards.count(checkers) == 1) {
+			int checkerSquare = Bitboards.lowestSquare(checkers);
+			checkMask = checkers | AttackTables.between(kingSquare, checkerSquare);
+		}
+
+		long ours = board.getOccupancy(color);
+		long opponentQueens = board.getBitboard(Piece.of(opponentColor, PieceType.QUEEN));
+		long snipers = (AttackTables.rookRays(kingSquare)
+				& (board.getBitboard(Piece.of(opponentColor, PieceType.ROOK)) | opponentQueens))
+				| (AttackTables.bishopRays(kingSquare)
+						& (board.getBitboard(Piece.of(opponentColor, PieceType.BISHOP)) | opponentQueens));
+		for (; snipers != Bitboards.EMPTY; snipers &= snipers - 1) {
+			int sniperSquare = Bitboards.lowestSquare(snipers);
+			long blockers = AttackTables.between(kingSquare, sniperSquare) & occupancy;
+			if (Bitboards.count(blockers) == 1 && (blockers & ours) != Bitboards.EMPTY) {
+				pinned |= blockers;
+				pinMasks[Bitboards.lowestSquare(blockers)] = AttackTables.between(kingSquare, sniperSquare)
+						| Bitboards.bit(sniperSquare);
+			}
+		}
+	}
+
+	public Color getColor() {
+		return color;
+	}
+
+	/**
+	 * Gets king square of the analysed side
+	 *
+	 * @return square index, {@link Board#NO_SQUARE} if there is no king
+	 */
+	public int getKingSquare() {
+		return kingSquare;
+	}
+
+	public long getCheckers() {
+		return checkers;
+	}
+
+	public boolean isInCheck() {
+		return checkers != Bitboards.EMPTY;
+	}
+
+	public boolean isDoubleCheck() {
+		return Bitboards.count(checkers) > 1;
+	}
+
+	/**
+	 * Gets squares where a piece other than the king has to move to resolve
+	 * check
+	 *
+	 * @return checker and squares between it and the king, all squares if
+	 *         there is no check
+	 */
+	public long getCheckMask() {
+		return checkMask;
+	}
+
+	public long getPinned() {
+		return pinned;
+	}
+
+	/**
+	 * Gets squares the piece at given square can move to without exposing its
+	 * king
+	 *
+	 * @param square
+	 *            piece square index
+	 * @return pinning line including the pinner, all squares if the piece is
+	 *         not pinned
+	 */
+	public long getPinMask(int square) {
+		return Bitboards.contains(pinned, square) ? pinMasks[square] : Bitboards.FULL;
+	}
+
+	/**
+	 * Checks if move of the analysed side leaves its king safe. The move must
+	 * be valid for the moved piece, i.e. pseudo-legal.
+	 *
+	 * @param from
+	 *            from square index
+	 * @param to
+	 *            to square index
+	 * @param moveType
+	 *            move type
+	 * @return true if the king is not in check after the move, false
+	 *         otherwise
+	 */
+	public boolean isLegal(int from, int to, MoveType moveType) {
+		if (kingSquare == Board.NO_SQUARE) {
+			return true;
+		}
+		if (from == kingSquare) {
+			return moveType == MoveType.CASTLING ? isCastlingLegal(to) : isKingMoveLegal(to);
+		}
+		if (isDoubleCheck()) {
+			return false;
+		}
+		if (moveType == MoveType.EN_PASSANT) {
+			return isEnPassantLegal(from, to, Bitboards.square(Bitboards.x(to), Bitboards.y(from)));
+		}
+		return Bitboards.contains(checkMask & getPinMask(from), to);
+	}
+
+	/**
+	 * Checks if the king can move to given square, the square it leaves does
+	 * not block sliding attackers any more
+	 *
+	 * @param to
+	 *            destination square index
+	 * @return true if the destination is not attacked, false otherwise
+	 */
+	public boolean isKingMoveLegal(int to) {
+		long occupancyWithoutKing = occupancy & ~Bitboards.bit(kingSquare);
+		return board.getAttackers(to, opponentColor, occupancyWithoutKing) == Bitboards.EMPTY;
+	}
+
+	/**
+	 * Checks if castling with king going to given square is safe: the king is
+	 * not in check and does not pass through or land on attacked square
+	 *
+	 * @param to
+	 *            king destination square index
+	 * @return true if castling is safe, false otherwise
+	 */
+	public boolean isCastlingLegal(int to) {
+		int passedSquare = (kingSquare + to) / 2;
+		return !isInCheck() && board.getAttackers(passedSquare, opponentColor, occupancy) == Bitboards.EMPTY
+				&& board.getAttackers(to, opponentColor, occupancy) == Bitboards.EMPTY;
+	}
+
+	/**
+	 * Checks if en passant capture is legal. Two pieces leave the king's
+	 * lines at once, so the attacks are recalculated.
+	 *
+	 * @param from
+	 *            capturing pawn square index
+	 * @param to
+	 *            destination square index
+	 * @param capturedSquare
+	 *            captured pawn square index
+	 * @return true if the king is not in check after the capture, false
+	 *         otherwise
+	 */
+	public boolean isEnPassantLegal(int from, int to, int capturedSquare) {
+		if (kingSquare == Board.NO_SQUARE) {
+			return true;
+		}
+		long occupancyAfterMove = (occupancy & ~Bitboards.bit(from) & ~Bitboards.bit(capturedSquare))
+				| Bitboards.bit(to);
+		long attackers = board.getAttackers(kingSquare, opponentColor, occupancyAfterMove);
+		return (attackers & ~Bitboards.bit(capturedSquare)) == Bitboards.EMPTY;
+	}
+}
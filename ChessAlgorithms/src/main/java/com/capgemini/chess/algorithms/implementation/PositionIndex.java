@@ -0,0 +1,239 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Memory-mapped index from position key, see {@link Board#getPositionKey()},
+ * to number of occurrences of the position and result tallies. Indexes are
+ * built by {@link PositionIndexBuilder}, partial indexes built in parallel
+ * are combined with {@link #merge(List, Path)}.
+ * <p>
+ * Entries are sorted by key. As Zobrist keys are uniformly distributed, a
+ * lookup interpolates the entry position and needs only a few reads even in
+ * an index of hundreds of millions of positions; it falls back to binary
+ * search if the interpolation does not converge.
+ *
+ */
+public class PositionIndex implements Closeable {
+
+	private static final int ENTRIES_PER_SEGMENT = 1 << 25;
+	private static final int INTERPOLATION_STEPS = 8;
+	private static final int OCCURRENCES_OFFSET = Long.BYTES;
+
+	private final FileChannel channel;
+	private final ByteBuffer[] segments;
+	private final long positionCount;
+
+	private PositionIndex(FileChannel channel, ByteBuffer[] segments, long positionCount) {
+		this.channel = channel;
+		this.segments = segments;
+		this.positionCount = positionCount;
+	}
+
+	/**
+	 * Opens and maps index
+	 *
+	 * @param path
+	 *            index file
+	 * @return position index
+	 * @throws IOException
+	 *             in case the file cannot be mapped or is not an index
+	 */
+	public static PositionIndex open(Path path) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			if (channel.size() < PositionIndexWriter.HEADER_SIZE) {
+				throw new IOException("Position index is truncated");
+			}
+			ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0L, PositionIndexWriter.HEADER_SIZE)
+					.order(PositionIndexWriter.BYTE_ORDER);
+			if (header.getInt(0) != PositionIndexWriter.MAGIC
+					|| header.getInt(Integer.BYTES) != PositionIndexWriter.VERSION) {
+				throw new IOException("Not a position index of version " + PositionIndexWriter.VERSION);
+			}
+			long positionCount = header.getLong(PositionIndexWriter.ENTRY_COUNT_OFFSET);
+			if (PositionIndexWriter.HEADER_SIZE + positionCount * PositionIndexWriter.ENTRY_SIZE > channel.size()) {
+				throw new IOException("Position index is truncated");
+			}
+			ByteBuffer[] segments = new ByteBuffer[(int) ((positionCount + ENTRIES_PER_SEGMENT - 1)
+					/ ENTRIES_PER_SEGMENT)];
+			for (int i = 0; i < segments.length; i++) {
+				long firstEntry = (long) i * ENTRIES_PER_SEGMENT;
+				long entries = Math.min(positionCount - firstEntry, ENTRIES_PER_SEGMENT);
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+						PositionIndexWriter.HEADER_SIZE + firstEntry * PositionIndexWriter.ENTRY_SIZE,
+						entries * PositionIndexWriter.ENTRY_SIZE).order(PositionIndexWriter.BYTE_ORDER);
+			}
+			return new PositionIndex(channel, segments, positionCount);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Merges indexes into one, counts of positions present in more of them
+	 * are added up
+	 *
+	 * @param parts
+	 *            indexes to merge
+	 * @param output
+	 *            merged index, it must not be one of the parts
+	 * @throws IOException
+	 *             in case an index cannot be read or written
+	 */
+	public static void merge(List<Path> parts, Path output) throws IOException {
+		List<PositionIndex> indexes = new ArrayList<>();
+		try {
+			PriorityQueue<Cursor> cursors = new PriorityQueue<>();
+			for (Path part : parts) {
+				PositionIndex index = open(part);
+				indexes.add(index);
+				if (index.positionCount > 0) {
+					cursors.add(new Cursor(index));
+				}
+			}
+			try (PositionIndexWriter writer = new PositionIndexWriter(output)) {
+				int[] counts = new int[PositionIndexWriter.COUNT_FIELDS];
+				while (!cursors.isEmpty()) {
+					long key = cursors.peek().key;
+					for (int field = 0; field < counts.length; field++) {
+						counts[field] = 0;
+					}
+					while (!cursors.isEmpty() && cursors.peek().key == key) {
+						Cursor cursor = cursors.poll();
+						for (int field = 0; field < counts.length; field++) {
+							counts[field] = PositionIndexWriter.add(counts[field], cursor.index.countAt(cursor.entry,
+									field));
+						}
+						if (cursor.next()) {
+							cursors.add(cursor);
+						}
+					}
+					writer.write(key, counts[0], counts[1], counts[2], counts[3]);
+				}
+			}
+		} finally {
+			for (PositionIndex index : indexes) {
+				index.close();
+			}
+		}
+	}
+
+	public long getPositionCount() {
+		return positionCount;
+	}
+
+	/**
+	 * Finds statistics of the current position of given board
+	 *
+	 * @param board
+	 *            chess board
+	 * @return statistics, null if the position is not indexed
+	 */
+	public PositionStatistics find(Board board) {
+		return find(board.getPositionKey());
+	}
+
+	/**
+	 * Finds statistics of position with given key
+	 *
+	 * @param positionKey
+	 *            Zobrist key of the position
+	 * @return statistics, null if the position is not indexed
+	 */
+	public PositionStatistics find(long positionKey) {
+		long entry = indexOf(positionKey);
+		if (entry < 0) {
+			return null;
+		}
+		return new PositionStatistics(positionKey, countAt(entry, 0), countAt(entry, 1), countAt(entry, 2),
+				countAt(entry, 3));
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private long indexOf(long key) {
+		long low = 0L;
+		long high = positionCount - 1;
+		int steps = 0;
+		while (low <= high) {
+			long lowKey = keyAt(low);
+			long highKey = keyAt(high);
+			if (key < lowKey || key > highKey) {
+				return -1L;
+			}
+			long middle;
+			if (steps++ < INTERPOLATION_STEPS && highKey != lowKey) {
+				double fraction = ((double) key - lowKey) / ((double) highKey - lowKey);
+				middle = Math.min(high, Math.max(low, low + (long) (fraction * (high - low))));
+			} else {
+				middle = (low + high) >>> 1;
+			}
+			long middleKey = keyAt(middle);
+			if (middleKey == key) {
+				return middle;
+			}
+			if (middleKey < key) {
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return -1L;
+	}
+
+	private long keyAt(long entry) {
+		return segments[(int) (entry / ENTRIES_PER_SEGMENT)].getLong(positionOf(entry));
+	}
+
+	private int countAt(long entry, int field) {
+		return segments[(int) (entry / ENTRIES_PER_SEGMENT)].getInt(positionOf(entry) + OCCURRENCES_OFFSET
+				+ Integer.BYTES * field);
+	}
+
+	private static int positionOf(long entry) {
+		return (int) (entry % ENTRIES_PER_SEGMENT) * PositionIndexWriter.ENTRY_SIZE;
+	}
+
+	/**
+	 * Position in one of merged indexes
+	 */
+	private static class Cursor implements Comparable<Cursor> {
+
+		private final PositionIndex index;
+		private long entry;
+		private long key;
+
+		Cursor(PositionIndex index) {
+			this.index = index;
+			this.key = index.keyAt(0L);
+		}
+
+		boolean next() {
+			if (++entry == index.positionCount) {
+				return false;
+			}
+			key = index.keyAt(entry);
+			return true;
+		}
+
+		@Override
+		public int compareTo(Cursor other) {
+			return Long.compare(key, other.key);
+		}
+	}
+}
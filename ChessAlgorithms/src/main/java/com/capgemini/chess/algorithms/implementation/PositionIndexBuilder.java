@@ -0,0 +1,205 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.GameResult;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidFenException;
+
+/**
+ * Builds {@link PositionIndex} from games. Each game is replayed from the
+ * initial position and every position reached, the initial one included, is
+ * counted together with the result of the game. Moves are played with
+ * {@link Board#playMove(int)} on one reused board, so replaying allocates
+ * nothing.
+ * <p>
+ * Counts are collected in an open addressing hash table of bounded size.
+ * When it is full, its entries are written sorted to a temporary run file in
+ * the work directory and the runs are merged when the index is written, so
+ * memory use does not depend on the number of positions. To build an index
+ * in parallel, give each thread its own builder and a part of the games, and
+ * merge the written indexes with {@link PositionIndex#merge(List, Path)}.
+ *
+ */
+public class PositionIndexBuilder {
+
+	private static final int DEFAULT_MAX_POSITIONS_IN_MEMORY = 1 << 20;
+	private static final int MAX_POSITIONS_IN_MEMORY = 1 << 26;
+	private static final int FIELDS = PositionIndexWriter.COUNT_FIELDS;
+
+	private final Path workDirectory;
+	private final int maxPositionsInMemory;
+	private final List<Path> runs = new ArrayList<>();
+	private final Board board = new Board();
+	private final short[] archivedMoves = new short[GameArchiveWriter.MAX_PLY_COUNT];
+
+	private final long[] keys;
+	private final boolean[] used;
+	private final int[] counts;
+	private final long[] sortedKeys;
+	private final int mask;
+	private int size;
+
+	public PositionIndexBuilder(Path workDirectory) {
+		this(workDirectory, DEFAULT_MAX_POSITIONS_IN_MEMORY);
+	}
+
+	/**
+	 * Creates builder
+	 *
+	 * @param workDirectory
+	 *            directory for temporary run files
+	 * @param maxPositionsInMemory
+	 *            number of distinct positions collected in memory before
+	 *            they are written to a run file
+	 */
+	public PositionIndexBuilder(Path workDirectory, int maxPositionsInMemory) {
+		if (maxPositionsInMemory < 1 || maxPositionsInMemory > MAX_POSITIONS_IN_MEMORY) {
+			throw new IllegalArgumentException("Number of positions in memory must be 1 - " + MAX_POSITIONS_IN_MEMORY);
+		}
+		this.workDirectory = workDirectory;
+		this.maxPositionsInMemory = maxPositionsInMemory;
+		int capacity = Integer.highestOneBit(maxPositionsInMemory) << 2;
+		this.keys = new long[capacity];
+		this.used = new boolean[capacity];
+		this.counts = new int[capacity * FIELDS];
+		this.sortedKeys = new long[maxPositionsInMemory];
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * Counts positions of the game
+	 *
+	 * @param moves
+	 *            moves from the initial position
+	 * @param result
+	 *            result from white's point of view, null if unknown
+	 * @throws IOException
+	 *             in case a run file cannot be written
+	 */
+	public void addGame(List<Move> moves, GameResult result) throws IOException {
+		resetBoard();
+		count(board.getPositionKey(), result);
+		for (Move move : moves) {
+			board.playMove(PackedMove.fromMove(move));
+			count(board.getPositionKey(), result);
+		}
+	}
+
+	/**
+	 * Counts positions of archived games
+	 *
+	 * @param archive
+	 *            game archive
+	 * @param fromGame
+	 *            index of the first game, inclusive
+	 * @param toGame
+	 *            index of the last game, exclusive
+	 * @throws IOException
+	 *             in case a run file cannot be written
+	 */
+	public void addGames(GameArchiveReader archive, long fromGame, long toGame) throws IOException {
+		for (long game = fromGame; game < toGame; game++) {
+			GameResult result = archive.getResult(game);
+			int plyCount = archive.getMoves(game, archivedMoves);
+			resetBoard();
+			count(board.getPositionKey(), result);
+			for (int ply = 0; ply < plyCount; ply++) {
+				board.playMove(PackedMove.fromShort(archivedMoves[ply]));
+				count(board.getPositionKey(), result);
+			}
+		}
+	}
+
+	/**
+	 * Writes index of all counted positions and resets the builder
+	 *
+	 * @param output
+	 *            index file
+	 * @throws IOException
+	 *             in case the index cannot be written
+	 */
+	public void write(Path output) throws IOException {
+		if (runs.isEmpty()) {
+			writeTable(output);
+			return;
+		}
+		try {
+			if (size > 0) {
+				spill();
+			}
+			PositionIndex.merge(runs, output);
+		} finally {
+			for (Path run : runs) {
+				Files.deleteIfExists(run);
+			}
+			runs.clear();
+		}
+	}
+
+	private void count(long key, GameResult result) throws IOException {
+		int slot = (int) (key ^ (key >>> 32)) & mask;
+		while (used[slot] && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		int base = slot * FIELDS;
+		if (!used[slot]) {
+			used[slot] = true;
+			keys[slot] = key;
+			Arrays.fill(counts, base, base + FIELDS, 0);
+			size++;
+		}
+		counts[base] = PositionIndexWriter.add(counts[base], 1);
+		if (result != null) {
+			int field = base + 1 + result.ordinal();
+			counts[field] = PositionIndexWriter.add(counts[field], 1);
+		}
+		if (size == maxPositionsInMemory) {
+			spill();
+		}
+	}
+
+	private void spill() throws IOException {
+		Path run = Files.createTempFile(workDirectory, "positions", ".run");
+		runs.add(run);
+		writeTable(run);
+	}
+
+	private void writeTable(Path output) throws IOException {
+		int keyCount = 0;
+		for (int slot = 0; slot < keys.length; slot++) {
+			if (used[slot]) {
+				sortedKeys[keyCount++] = keys[slot];
+			}
+		}
+		Arrays.sort(sortedKeys, 0, keyCount);
+		try (PositionIndexWriter writer = new PositionIndexWriter(output)) {
+			for (int i = 0; i < keyCount; i++) {
+				long key = sortedKeys[i];
+				int slot = (int) (key ^ (key >>> 32)) & mask;
+				while (keys[slot] != key) {
+					slot = (slot + 1) & mask;
+				}
+				int base = slot * FIELDS;
+				writer.write(key, counts[base], counts[base + 1], counts[base + 2], counts[base + 3]);
+			}
+		}
+		Arrays.fill(used, false);
+		size = 0;
+	}
+
+	private void resetBoard() {
+		try {
+			Fen.load(Fen.INITIAL_POSITION, board);
+		} catch (InvalidFenException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
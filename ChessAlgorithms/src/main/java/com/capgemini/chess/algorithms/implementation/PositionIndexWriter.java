@@ -0,0 +1,90 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential writer of the {@link PositionIndex} file format.
+ * <p>
+ * Layout, little endian: magic number (4 bytes), format version (4) and
+ * number of entries (8), then entries sorted by position key, each of them:
+ * position key (8), occurrences (4) and numbers of occurrences in games won,
+ * drawn and lost by white (4 each). Counts saturate at
+ * {@link Integer#MAX_VALUE}.
+ *
+ */
+final class PositionIndexWriter implements Closeable {
+
+	static final int MAGIC = 0x58444950;
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 16;
+	static final int ENTRY_COUNT_OFFSET = 8;
+	static final int ENTRY_SIZE = 24;
+	static final int COUNT_FIELDS = 4;
+	static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	private static final int BUFFER_SIZE = ENTRY_SIZE << 12;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BYTE_ORDER);
+	private long bufferStart = HEADER_SIZE;
+	private long entryCount;
+	private long lastKey;
+
+	PositionIndexWriter(Path path) throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
+	/**
+	 * Writes entry, keys must be written in ascending order
+	 */
+	void write(long key, int occurrences, int won, int drawn, int lost) throws IOException {
+		if (entryCount > 0 && key <= lastKey) {
+			throw new IllegalStateException("Position keys must be written in ascending order");
+		}
+		if (buffer.remaining() < ENTRY_SIZE) {
+			flush();
+		}
+		buffer.putLong(key).putInt(occurrences).putInt(won).putInt(drawn).putInt(lost);
+		lastKey = key;
+		entryCount++;
+	}
+
+	/**
+	 * Writes header with number of entries and closes the file
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+			header.putInt(MAGIC).putInt(VERSION).putLong(entryCount).flip();
+			long offset = 0L;
+			while (header.hasRemaining()) {
+				offset += channel.write(header, offset);
+			}
+			channel.force(false);
+		} finally {
+			channel.close();
+		}
+	}
+
+	static int add(int count, int increment) {
+		long sum = (long) count + increment;
+		return sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+	}
+
+	private void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			bufferStart += channel.write(buffer, bufferStart);
+		}
+		buffer.clear();
+	}
+}
@@ -0,0 +1,44 @@
+package com.capgemini.chess.algorithms.implementation;
+
+/**
+ * Occurrences of one position in indexed games, see {@link PositionIndex}.
+ * Results are counted from white's point of view, occurrences in games with
+ * unknown result are only included in the total.
+ *
+ */
+public class PositionStatistics {
+
+	private final long positionKey;
+	private final int occurrences;
+	private final int won;
+	private final int drawn;
+	private final int lost;
+
+	PositionStatistics(long positionKey, int occurrences, int won, int drawn, int lost) {
+		this.positionKey = positionKey;
+		this.occurrences = occurrences;
+		this.won = won;
+		this.drawn = drawn;
+		this.lost = lost;
+	}
+
+	public long getPositionKey() {
+		return positionKey;
+	}
+
+	public int getOccurrences() {
+		return occurrences;
+	}
+
+	public int getWon() {
+		return won;
+	}
+
+	public int getDrawn() {
+		return drawn;
+	}
+
+	public int getLost() {
+		return lost;
+	}
+}
@@ -0,0 +1,178 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import com.capgemini.chess.algorithms.bitboard.Bitboards;
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.MoveList;
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Resolves moves in standard algebraic notation, e.g. "Nbd7", "exd6",
+ * "O-O-O" or "e8=N+", against the current position of a board. The notation
+ * is matched with legal moves of the side to move, so only legal moves are
+ * resolved. Check and annotation suffixes are ignored, long algebraic
+ * notation such as "Ng1-f3" is accepted as well and pawn promoted without
+ * piece letter is promoted to queen.
+ *
+ */
+public class SanResolver {
+
+	private static final PieceType[] PIECE_TYPES = PieceType.values();
+	private static final String PIECE_LETTERS = "KQBNRP";
+	private static final String SUFFIXES = "+#!?";
+	private static final int KING_SIDE_CASTLING_X = 6;
+	private static final int QUEEN_SIDE_CASTLING_X = 2;
+
+	private final Board board;
+	private final MoveGenerator generator;
+	private final MoveList legalMoves = new MoveList();
+
+	public SanResolver(Board board) {
+		this.board = board;
+		this.generator = new MoveGenerator(board);
+	}
+
+	/**
+	 * Finds legal move given in standard algebraic notation
+	 *
+	 * @param san
+	 *            move notation
+	 * @return move in {@link PackedMove} encoding
+	 * @throws InvalidMoveException
+	 *             in case the notation is malformed, the move is not legal
+	 *             or more than one legal move matches it
+	 */
+	public int resolve(CharSequence san) throws InvalidMoveException {
+		int end = san.length();
+		while (end > 0 && SUFFIXES.indexOf(san.charAt(end - 1)) >= 0) {
+			end--;
+		}
+		legalMoves.clear();
+		generator.generateLegalMoves(board.getSideToMove(), legalMoves);
+
+		int castlingX = castlingX(san, end);
+		if (castlingX >= 0) {
+			return findCastling(san, castlingX);
+		}
+
+		int start = 0;
+		PieceType pieceType = PieceType.PAWN;
+		int pieceIndex = end > 0 ? PIECE_LETTERS.indexOf(san.charAt(0)) : -1;
+		if (pieceIndex >= 0) {
+			pieceType = PIECE_TYPES[pieceIndex];
+			start = 1;
+		}
+
+		PieceType promotion = null;
+		if (end - start > 2 && (san.charAt(end - 2) == '=' || isRank(san.charAt(end - 2)))) {
+			int promotionIndex = PIECE_LETTERS.indexOf(Character.toUpperCase(san.charAt(end - 1)));
+			if (promotionIndex > 0 && PIECE_TYPES[promotionIndex] != PieceType.PAWN) {
+				promotion = PIECE_TYPES[promotionIndex];
+				end -= san.charAt(end - 2) == '=' ? 2 : 1;
+			}
+		}
+
+		if (end - start < 2 || !isFile(san.charAt(end - 2)) || !isRank(san.charAt(end - 1))) {
+			throw new InvalidMoveException("Malformed move " + san);
+		}
+		int to = Bitboards.square(san.charAt(end - 2) - 'a', san.charAt(end - 1) - '1');
+
+		int fromX = -1;
+		int fromY = -1;
+		for (int i = start; i < end - 2; i++) {
+			char symbol = san.charAt(i);
+			if (isFile(symbol)) {
+				fromX = symbol - 'a';
+			} else if (isRank(symbol)) {
+				fromY = symbol - '1';
+			} else if (symbol != 'x' && symbol != '-' && symbol != ':') {
+				throw new InvalidMoveException("Malformed move " + san);
+			}
+		}
+		if (pieceType == PieceType.PAWN && fromX < 0) {
+			fromX = Bitboards.x(to);
+		}
+
+		return findMove(san, pieceType, to, fromX, fromY, promotion);
+	}
+
+	/**
+	 * Performs legal move given in standard algebraic notation on the board
+	 *
+	 * @param san
+	 *            move notation
+	 * @return move added to move history
+	 * @throws InvalidMoveException
+	 *             in case the move cannot be resolved, see
+	 *             {@link #resolve(CharSequence)}
+	 */
+	public Move play(CharSequence san) throws InvalidMoveException {
+		return board.makeMove(resolve(san));
+	}
+
+	private int findMove(CharSequence san, PieceType pieceType, int to, int fromX, int fromY, PieceType promotion)
+			throws InvalidMoveException {
+		int found = -1;
+		for (int i = 0; i < legalMoves.size(); i++) {
+			int move = legalMoves.get(i);
+			int from = PackedMove.from(move);
+			if (PackedMove.to(move) != to || PackedMove.movedPiece(move).getType() != pieceType
+					|| (fromX >= 0 && Bitboards.x(from) != fromX) || (fromY >= 0 && Bitboards.y(from) != fromY)
+					|| !isPromotionMatching(PackedMove.promotion(move), promotion)) {
+				continue;
+			}
+			if (found >= 0) {
+				throw new InvalidMoveException("Ambiguous move " + san);
+			}
+			found = move;
+		}
+		if (found < 0) {
+			throw new InvalidMoveException("Illegal move " + san);
+		}
+		return found;
+	}
+
+	private int findCastling(CharSequence san, int castlingX) throws InvalidMoveException {
+		for (int i = 0; i < legalMoves.size(); i++) {
+			int move = legalMoves.get(i);
+			if (PackedMove.type(move) == MoveType.CASTLING && Bitboards.x(PackedMove.to(move)) == castlingX) {
+				return move;
+			}
+		}
+		throw new InvalidMoveException("Illegal move " + san);
+	}
+
+	private static boolean isPromotionMatching(PieceType movePromotion, PieceType promotion) {
+		if (movePromotion == null) {
+			return promotion == null;
+		}
+		return movePromotion == (promotion == null ? PieceType.QUEEN : promotion);
+	}
+
+	private static int castlingX(CharSequence san, int end) {
+		if (end != 3 && end != 5) {
+			return -1;
+		}
+		char castle = san.charAt(0);
+		if (castle != 'O' && castle != '0') {
+			return -1;
+		}
+		for (int i = 1; i < end; i++) {
+			if (san.charAt(i) != (i % 2 == 0 ? castle : '-')) {
+				return -1;
+			}
+		}
+		return end == 3 ? KING_SIDE_CASTLING_X : QUEEN_SIDE_CASTLING_X;
+	}
+
+	private static boolean isFile(char symbol) {
+		return symbol >= 'a' && symbol < 'a' + Board.SIZE;
+	}
+
+	private static boolean isRank(char symbol) {
+		return symbol >= '1' && symbol < '1' + Board.SIZE;
+	}
+}
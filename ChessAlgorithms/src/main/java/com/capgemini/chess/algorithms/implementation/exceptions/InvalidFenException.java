@@ -0,0 +1,15 @@
+package com.capgemini.chess.algorithms.implementation.exceptions;
+
+/**
+ * Exception thrown in case the position in Forsyth-Edwards Notation cannot be
+ * read
+ *
+ */
+public class InvalidFenException extends Exception {
+
+	private static final long serialVersionUID = 4215927035113276361L;
+
+	public InvalidFenException(String message) {
+		super("Invalid FEN! " + message);
+	}
+}
@@ -0,0 +1,102 @@
+package com.capgemini.chess.algorithms.search;
+
+import com.capgemini.chess.algorithms.bitboard.Bitboards;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
+import com.capgemini.chess.algorithms.data.generated.Board;
+
+/**
+ * Static evaluation of positions: material and piece-square tables. Tables
+ * are written from white's point of view with the 8th rank first, black
+ * pieces use them mirrored.
+ *
+ */
+public class Evaluator {
+
+	/**
+	 * Piece values in centipawns, indexed by {@link PieceType} ordinal
+	 */
+	static final int[] PIECE_VALUES = { 0, 900, 330, 320, 500, 100 };
+
+	private static final Piece[] PIECES = Piece.values();
+	private static final int[][] TABLES = {
+			// king
+			{ -30, -40, -40, -50, -50, -40, -40, -30,
+			  -30, -40, -40, -50, -50, -40, -40, -30,
+			  -30, -40, -40, -50, -50, -40, -40, -30,
+			  -30, -40, -40, -50, -50, -40, -40, -30,
+			  -20, -30, -30, -40, -40, -30, -30, -20,
+			  -10, -20, -20, -20, -20, -20, -20, -10,
+			   20,  20,   0,   0,   0,   0,  20,  20,
+			   20,  30,  10,   0,   0,  10,  30,  20 },
+			// queen
+			{ -20, -10, -10,  -5,  -5, -10, -10, -20,
+			  -10,   0,   0,   0,   0,   0,   0, -10,
+			  -10,   0,   5,   5,   5,   5,   0, -10,
+			   -5,   0,   5,   5,   5,   5,   0,  -5,
+			    0,   0,   5,   5,   5,   5,   0,  -5,
+			  -10,   5,   5,   5,   5,   5,   0, -10,
+			  -10,   0,   5,   0,   0,   0,   0, -10,
+			  -20, -10, -10,  -5,  -5, -10, -10, -20 },
+			// bishop
+			{ -20, -10, -10, -10, -10, -10, -10, -20,
+			  -10,   0,   0,   0,   0,   0,   0, -10,
+			  -10,   0,   5,  10,  10,   5,   0, -10,
+			  -10,   5,   5,  10,  10,   5,   5, -10,
+			  -10,   0,  10,  10,  10,  10,   0, -10,
+			  -10,  10,  10,  10,  10,  10,  10, -10,
+			  -10,   5,   0,   0,   0,   0,   5, -10,
+			  -20, -10, -10, -10, -10, -10, -10, -20 },
+			// knight
+			{ -50, -40, -30, -30, -30, -30, -40, -50,
+			  -40, -20,   0,   0,   0,   0, -20, -40,
+			  -30,   0,  10,  15,  15,  10,   0, -30,
+			  -30,   5,  15,  20,  20,  15,   5, -30,
+			  -30,   0,  15,  20,  20,  15,   0, -30,
+			  -30,   5,  10,  15,  15,  10,   5, -30,
+			  -40, -20,   0,   5,   5,   0, -20, -40,
+			  -50, -40, -30, -30, -30, -30, -40, -50 },
+			// rook
+			{   0,   0,   0,   0,   0,   0,   0,   0,
+			    5,  10,  10,  10,  10,  10,  10,   5,
+			   -5,   0,   0,   0,   0,   0,   0,  -5,
+			   -5,   0,   0,   0,   0,   0,   0,  -5,
+			   -5,   0,   0,   0,   0,   0,   0,  -5,
+			   -5,   0,   0,   0,   0,   0,   0,  -5,
+			   -5,   0,   0,   0,   0,   0,   0,  -5,
+			    0,   0,   0,   5,   5,   0,   0,   0 },
+			// pawn
+			{   0,   0,   0,   0,   0,   0,   0,   0,
+			   50,  50,  50,  50,  50,  50,  50,  50,
+			   10,  10,  20,  30,  30,  20,  10,  10,
+			    5,   5,  10,  25,  25,  10,   5,   5,
+			    0,   0,   0,  20,  20,   0,   0,   0,
+			    5,  -5, -10,   0,   0, -10,  -5,   5,
+			    5,  10,  10, -20, -20,  10,  10,   5,
+			    0,   0,   0,   0,   0,   0,   0,   0 } };
+
+	/**
+	 * Evaluates current position of the board
+	 *
+	 * @param board
+	 *            chess board
+	 * @return score in centipawns from the point of view of the side to move
+	 */
+	public int evaluate(Board board) {
+		int score = 0;
+		for (Piece piece : PIECES) {
+			int type = piece.getType().ordinal();
+			int[] table = TABLES[type];
+			boolean white = piece.getColor() == Color.WHITE;
+			int pieceScore = 0;
+			for (long bitboard = board.getBitboard(piece); bitboard != Bitboards.EMPTY; bitboard &= bitboard - 1) {
+				int square = Bitboards.lowestSquare(bitboard);
+				int y = white ? Board.SIZE - 1 - Bitboards.y(square) : Bitboards.y(square);
+				pieceScore += PIECE_VALUES[type] + table[Bitboards.square(Bitboards.x(square), y)];
+			}
+			score += white ? pieceScore : -pieceScore;
+		}
+		return board.getSideToMove() == Color.WHITE ? score : -score;
+	}
+}
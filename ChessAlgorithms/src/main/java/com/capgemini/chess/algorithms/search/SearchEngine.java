@@ -0,0 +1,365 @@
+package com.capgemini.chess.algorithms.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.MoveList;
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.implementation.MoveGenerator;
+
+/**
+ * Chess engine choosing a move for the side to move. It runs negamax
+ * alpha-beta search with iterative deepening: each iteration searches one ply
+ * deeper and starts with the best moves of the previous one, which makes the
+ * cutoffs of the next iteration cheap. Leaves are resolved by a quiescence
+ * search of captures and promotions, which searches all evasions when the
+ * side to move is in check, so mates behind the horizon are not missed.
+ * <p>
+ * The search works on a copy of the given board with
+ * {@link Board#makeMove(int)} and {@link Board#unmakeMove()}, so the caller's
+ * board is not changed. To play the best move in a game, pass the board of
+ * {@link BoardManager#getBoard()} and perform the move with
+ * {@link BoardManager#performMove}.
+ * <p>
+ * Engine keeps its move ordering tables between searches. It is not thread
+ * safe, only {@link #stop()} can be called from another thread.
+ *
+ */
+public class SearchEngine {
+
+	public static final int MATE_SCORE = 30000;
+	public static final int MAX_PLY = 128;
+
+	private static final int INFINITY = MATE_SCORE + 1;
+	private static final int DRAW_SCORE = 0;
+	private static final int FIFTY_MOVE_RULE_PLIES = 100;
+	private static final int NODES_BETWEEN_TIME_CHECKS = 1 << 10;
+	private static final long NANOS_PER_MILLI = 1000000L;
+	private static final int HASH_MOVE_TABLE_SIZE = 1 << 16;
+	private static final int MAX_MOVES = 256;
+	private static final int KILLERS = 2;
+	private static final int NO_MOVE = 0;
+
+	private static final int HASH_MOVE_ORDER = 1 << 30;
+	private static final int CAPTURE_ORDER = 1 << 20;
+	private static final int KILLER_ORDER = CAPTURE_ORDER - KILLERS;
+
+	private final Evaluator evaluator;
+	private final long[] hashMoveKeys = new long[HASH_MOVE_TABLE_SIZE];
+	private final int[] hashMoves = new int[HASH_MOVE_TABLE_SIZE];
+	private final int[][] killers = new int[MAX_PLY][KILLERS];
+	private final int[][] moves = new int[MAX_PLY][MAX_MOVES];
+	private final int[][] moveOrders = new int[MAX_PLY][MAX_MOVES];
+	private final int[][] principalVariations = new int[MAX_PLY][MAX_PLY];
+	private final int[] principalVariationLengths = new int[MAX_PLY];
+	private final MoveList generatedMoves = new MoveList(MAX_MOVES);
+
+	private Board board;
+	private MoveGenerator generator;
+	private long nodes;
+	private long nodeLimit;
+	private long startTime;
+	private long timeBudget;
+	private boolean stoppable;
+	private boolean stopped;
+	private volatile boolean stopRequested;
+
+	public SearchEngine() {
+		this(new Evaluator());
+	}
+
+	public SearchEngine(Evaluator evaluator) {
+		this.evaluator = evaluator;
+	}
+
+	/**
+	 * Searches the current position of given board
+	 *
+	 * @param position
+	 *            chess board, it is not changed
+	 * @param limits
+	 *            budget of the search
+	 * @return result of the deepest completed iteration
+	 */
+	public SearchResult search(Board position, SearchLimits limits) {
+		startTime = System.nanoTime();
+		board = new Board(position);
+		generator = new MoveGenerator(board);
+		nodes = 0L;
+		nodeLimit = limits.getNodes();
+		timeBudget = limits.getTimeMillis() >= Long.MAX_VALUE / NANOS_PER_MILLI ? Long.MAX_VALUE
+				: limits.getTimeMillis() * NANOS_PER_MILLI;
+		stoppable = false;
+		stopped = false;
+		stopRequested = false;
+		for (int[] plyKillers : killers) {
+			plyKillers[0] = NO_MOVE;
+			plyKillers[1] = NO_MOVE;
+		}
+
+		int[] bestLine = new int[0];
+		int bestScore = 0;
+		int completedDepth = 0;
+		for (int depth = 1; depth <= limits.getDepth(); depth++) {
+			int score = negamax(depth, 0, -INFINITY, INFINITY);
+			if (stopped) {
+				break;
+			}
+			bestLine = new int[principalVariationLengths[0]];
+			System.arraycopy(principalVariations[0], 0, bestLine, 0, bestLine.length);
+			bestScore = score;
+			completedDepth = depth;
+			stoppable = true;
+			if (bestLine.length == 0 || SearchResult.isMateScore(score) && MATE_SCORE - Math.abs(score) <= depth
+					|| System.nanoTime() - startTime > timeBudget / 2) {
+				break;
+			}
+		}
+		return new SearchResult(toMoves(bestLine), bestScore, completedDepth, nodes,
+				(System.nanoTime() - startTime) / NANOS_PER_MILLI);
+	}
+
+	/**
+	 * Stops running search, which returns result of the last completed
+	 * iteration
+	 */
+	public void stop() {
+		stopRequested = true;
+	}
+
+	private int negamax(int depth, int ply, int alpha, int beta) {
+		principalVariationLengths[ply] = ply;
+		if (ply > 0 && (board.getHalfmoveClock() >= FIFTY_MOVE_RULE_PLIES || board.countRepetitions() > 0)) {
+			return DRAW_SCORE;
+		}
+		if (depth <= 0) {
+			return quiesce(ply, alpha, beta);
+		}
+		if (countNode()) {
+			return DRAW_SCORE;
+		}
+		if (ply >= MAX_PLY - 1) {
+			return evaluator.evaluate(board);
+		}
+		boolean inCheck = isInCheck();
+		if (inCheck) {
+			depth++;
+		}
+		int moveCount = generateMoves(ply, false);
+		if (moveCount == 0) {
+			return inCheck ? -MATE_SCORE + ply : DRAW_SCORE;
+		}
+		long key = board.getPositionKey();
+		int hashIndex = (int) key & (HASH_MOVE_TABLE_SIZE - 1);
+		orderMoves(ply, moveCount, hashMoveKeys[hashIndex] == key ? hashMoves[hashIndex] : NO_MOVE);
+
+		int bestScore = -INFINITY;
+		int bestMove = NO_MOVE;
+		for (int i = 0; i < moveCount; i++) {
+			int move = nextMove(ply, i, moveCount);
+			board.makeMove(move);
+			int score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+			board.unmakeMove();
+			if (stopped) {
+				return DRAW_SCORE;
+			}
+			if (score > bestScore) {
+				bestScore = score;
+				bestMove = move;
+				if (score > alpha) {
+					alpha = score;
+					updatePrincipalVariation(ply, move);
+					if (score >= beta) {
+						if (!isCaptureOrPromotion(move)) {
+							addKiller(ply, move);
+						}
+						break;
+					}
+				}
+			}
+		}
+		hashMoveKeys[hashIndex] = key;
+		hashMoves[hashIndex] = bestMove;
+		return bestScore;
+	}
+
+	private int quiesce(int ply, int alpha, int beta) {
+		principalVariationLengths[ply] = ply;
+		if (countNode()) {
+			return DRAW_SCORE;
+		}
+		if (ply >= MAX_PLY - 1) {
+			return evaluator.evaluate(board);
+		}
+		int bestScore;
+		int moveCount;
+		if (isInCheck()) {
+			// standing pat is not an option in check, all evasions are searched
+			moveCount = generateMoves(ply, false);
+			bestScore = -MATE_SCORE + ply;
+			if (moveCount == 0) {
+				return bestScore;
+			}
+		} else {
+			bestScore = evaluator.evaluate(board);
+			if (bestScore >= beta) {
+				return bestScore;
+			}
+			if (bestScore > alpha) {
+				alpha = bestScore;
+			}
+			moveCount = generateMoves(ply, true);
+		}
+		orderMoves(ply, moveCount, NO_MOVE);
+		for (int i = 0; i < moveCount; i++) {
+			int move = nextMove(ply, i, moveCount);
+			board.makeMove(move);
+			int score = -quiesce(ply + 1, -beta, -alpha);
+			board.unmakeMove();
+			if (stopped) {
+				return DRAW_SCORE;
+			}
+			if (score > bestScore) {
+				bestScore = score;
+				if (score > alpha) {
+					alpha = score;
+					if (score >= beta) {
+						break;
+					}
+				}
+			}
+		}
+		return bestScore;
+	}
+
+	/**
+	 * Counts visited node and checks the limits
+	 *
+	 * @return true if the search has to stop, false otherwise
+	 */
+	private boolean countNode() {
+		nodes++;
+		if (stoppable && (nodes >= nodeLimit || nodes % NODES_BETWEEN_TIME_CHECKS == 0
+				&& (stopRequested || System.nanoTime() - startTime >= timeBudget))) {
+			stopped = true;
+		}
+		return stopped;
+	}
+
+	private boolean isInCheck() {
+		Color color = board.getSideToMove();
+		int kingSquare = board.getKingSquare(color);
+		return kingSquare != Board.NO_SQUARE
+				&& board.isSquareAttacked(kingSquare, color == Color.WHITE ? Color.BLACK : Color.WHITE);
+	}
+
+	private int generateMoves(int ply, boolean capturesAndPromotionsOnly) {
+		generatedMoves.clear();
+		if (capturesAndPromotionsOnly) {
+			generator.generateCaptures(board.getSideToMove(), generatedMoves);
+		} else {
+			generator.generateLegalMoves(board.getSideToMove(), generatedMoves);
+		}
+		int[] plyMoves = moves[ply];
+		int moveCount = generatedMoves.size();
+		for (int i = 0; i < moveCount; i++) {
+			plyMoves[i] = generatedMoves.get(i);
+		}
+		return moveCount;
+	}
+
+	/**
+	 * Orders hash move first, then captures by value of the captured piece
+	 * and the capturing piece (MVV-LVA) and promotions, then killer moves
+	 */
+	private void orderMoves(int ply, int moveCount, int hashMove) {
+		int[] plyMoves = moves[ply];
+		int[] orders = moveOrders[ply];
+		for (int i = 0; i < moveCount; i++) {
+			int move = plyMoves[i];
+			int order = 0;
+			if (move == hashMove) {
+				order = HASH_MOVE_ORDER;
+			} else if (isCaptureOrPromotion(move)) {
+				order = CAPTURE_ORDER + capturedValue(move) * MAX_MOVES
+						- Evaluator.PIECE_VALUES[PackedMove.movedPiece(move).getType().ordinal()];
+				PieceType promotion = PackedMove.promotion(move);
+				if (promotion != null) {
+					order += Evaluator.PIECE_VALUES[promotion.ordinal()] * MAX_MOVES;
+				}
+			} else if (move == killers[ply][0]) {
+				order = KILLER_ORDER + 1;
+			} else if (move == killers[ply][1]) {
+				order = KILLER_ORDER;
+			}
+			orders[i] = order;
+		}
+	}
+
+	/**
+	 * Selects the best ordered of the remaining moves and swaps it to given
+	 * index, so moves after a cutoff are never sorted
+	 */
+	private int nextMove(int ply, int index, int moveCount) {
+		int[] plyMoves = moves[ply];
+		int[] orders = moveOrders[ply];
+		int best = index;
+		for (int i = index + 1; i < moveCount; i++) {
+			if (orders[i] > orders[best]) {
+				best = i;
+			}
+		}
+		int move = plyMoves[best];
+		plyMoves[best] = plyMoves[index];
+		plyMoves[index] = move;
+		int order = orders[best];
+		orders[best] = orders[index];
+		orders[index] = order;
+		return move;
+	}
+
+	private int capturedValue(int move) {
+		if (PackedMove.type(move) == MoveType.EN_PASSANT) {
+			return Evaluator.PIECE_VALUES[PieceType.PAWN.ordinal()];
+		}
+		if (PackedMove.type(move) == MoveType.CAPTURE) {
+			return Evaluator.PIECE_VALUES[board.getPieceAt(PackedMove.to(move)).getType().ordinal()];
+		}
+		return 0;
+	}
+
+	private static boolean isCaptureOrPromotion(int move) {
+		MoveType type = PackedMove.type(move);
+		return type == MoveType.CAPTURE || type == MoveType.EN_PASSANT || PackedMove.promotion(move) != null;
+	}
+
+	private void addKiller(int ply, int move) {
+		if (killers[ply][0] != move) {
+			killers[ply][1] = killers[ply][0];
+			killers[ply][0] = move;
+		}
+	}
+
+	private void updatePrincipalVariation(int ply, int move) {
+		int[] line = principalVariations[ply];
+		int childLength = principalVariationLengths[ply + 1];
+		line[ply] = move;
+		System.arraycopy(principalVariations[ply + 1], ply + 1, line, ply + 1, childLength - ply - 1);
+		principalVariationLengths[ply] = Math.max(ply + 1, childLength);
+	}
+
+	private static List<Move> toMoves(int[] line) {
+		List<Move> result = new ArrayList<>(line.length);
+		for (int move : line) {
+			result.add(PackedMove.toMove(move));
+		}
+		return Collections.unmodifiableList(result);
+	}
+}
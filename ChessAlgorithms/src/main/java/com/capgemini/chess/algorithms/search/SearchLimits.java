@@ -0,0 +1,63 @@
+package com.capgemini.chess.algorithms.search;
+
+/**
+ * Budget of one search. The search stops at whichever of the limits is
+ * reached first, but it always completes depth 1, so it has a move to
+ * return.
+ *
+ */
+public class SearchLimits {
+
+	public static final int MAX_DEPTH = 64;
+	public static final long UNLIMITED = Long.MAX_VALUE;
+
+	private final int depth;
+	private final long nodes;
+	private final long timeMillis;
+
+	/**
+	 * Creates search limits
+	 *
+	 * @param depth
+	 *            maximal depth in plies, 1 - {@link #MAX_DEPTH}
+	 * @param nodes
+	 *            maximal number of visited nodes, or {@link #UNLIMITED}
+	 * @param timeMillis
+	 *            maximal search time in milliseconds, or {@link #UNLIMITED}
+	 */
+	public SearchLimits(int depth, long nodes, long timeMillis) {
+		if (depth < 1 || depth > MAX_DEPTH) {
+			throw new IllegalArgumentException("Depth must be 1 - " + MAX_DEPTH);
+		}
+		if (nodes < 1 || timeMillis < 0) {
+			throw new IllegalArgumentException("Node and time limits must be positive");
+		}
+		this.depth = depth;
+		this.nodes = nodes;
+		this.timeMillis = timeMillis;
+	}
+
+	public static SearchLimits ofDepth(int depth) {
+		return new SearchLimits(depth, UNLIMITED, UNLIMITED);
+	}
+
+	public static SearchLimits ofNodes(long nodes) {
+		return new SearchLimits(MAX_DEPTH, nodes, UNLIMITED);
+	}
+
+	public static SearchLimits ofTime(long timeMillis) {
+		return new SearchLimits(MAX_DEPTH, UNLIMITED, timeMillis);
+	}
+
+	public int getDepth() {
+		return depth;
+	}
+
+	public long getNodes() {
+		return nodes;
+	}
+
+	public long getTimeMillis() {
+		return timeMillis;
+	}
+}
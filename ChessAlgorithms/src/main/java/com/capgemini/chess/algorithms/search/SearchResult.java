@@ -0,0 +1,85 @@
+package com.capgemini.chess.algorithms.search;
+
+import java.util.List;
+
+import com.capgemini.chess.algorithms.data.Move;
+
+/**
+ * Result of the last completed iteration of a search
+ *
+ */
+public class SearchResult {
+
+	private final List<Move> principalVariation;
+	private final int score;
+	private final int depth;
+	private final long nodes;
+	private final long timeMillis;
+
+	SearchResult(List<Move> principalVariation, int score, int depth, long nodes, long timeMillis) {
+		this.principalVariation = principalVariation;
+		this.score = score;
+		this.depth = depth;
+		this.nodes = nodes;
+		this.timeMillis = timeMillis;
+	}
+
+	/**
+	 * Gets best move
+	 *
+	 * @return first move of the principal variation, null if there is no
+	 *         legal move
+	 */
+	public Move getBestMove() {
+		return principalVariation.isEmpty() ? null : principalVariation.get(0);
+	}
+
+	/**
+	 * Gets expected line of play
+	 *
+	 * @return unmodifiable list of moves starting with the best move
+	 */
+	public List<Move> getPrincipalVariation() {
+		return principalVariation;
+	}
+
+	/**
+	 * Gets score of the best move in centipawns from the point of view of
+	 * the side to move, see {@link #isMateScore(int)}
+	 *
+	 * @return score
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Gets number of nodes visited by the whole search, including an
+	 * iteration which was not completed
+	 *
+	 * @return number of nodes
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	public long getTimeMillis() {
+		return timeMillis;
+	}
+
+	/**
+	 * Checks if score means forced mate, the number of plies to the mate is
+	 * {@link SearchEngine#MATE_SCORE} minus absolute value of the score
+	 *
+	 * @param score
+	 *            search score
+	 * @return true if the score is a mate score, false otherwise
+	 */
+	public static boolean isMateScore(int score) {
+		return Math.abs(score) > SearchEngine.MATE_SCORE - SearchEngine.MAX_PLY;
+	}
+}
@@ -1,78 +1,49 @@
 package com.capgemini.chess.algorithms.validator;
 
+import com.capgemini.chess.algorithms.bitboard.AttackTables;
+import com.capgemini.chess.algorithms.bitboard.Bitboards;
 import com.capgemini.chess.algorithms.data.Coordinate;
 import com.capgemini.chess.algorithms.data.enums.MoveType;
 import com.capgemini.chess.algorithms.data.enums.Piece;
 import com.capgemini.chess.algorithms.data.generated.Board;
 import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
 
+/**
+ * Validator of piece moves. Implementations must not keep any state, they are
+ * shared, see {@link Validators}.
+ *
+ */
 public abstract class AbstractMoveValidator {
 
-	private int fromX;
-	private int fromY;
-	private int toX;
-	private int toY;
-	private int changeX;
-	private int changeY;
-	private Board board;
-
 	public abstract boolean checkIfPieceCanMoveTo(Piece piece, Coordinate from, Coordinate to, MoveType moveType);
 
 	public boolean checkIfRoadToPieceDestinationIsEmpty(Coordinate from, Coordinate to, Board board)
 			throws InvalidMoveException {
-		this.fromX = from.getX();
-		this.fromY = from.getY();
-		this.toX = to.getX();
-		this.toY = to.getY();
-		this.changeX = fromX - toX;
-		this.changeY = fromY - toY;
-		this.board = board;
-
-		if (fromX != toX && fromY != toY) {
-			diagonalMove();
-		}
-
-		else if (changeX != 0 && changeY == 0) {
-			horizontalMove();
-		}
-
-		else if (changeX == 0 && changeY != 0) {
-			verticalMove();
+		if (!isRoadToPieceDestinationEmpty(from, to, board)) {
+			throw new InvalidMoveException();
 		}
 
 		return true;
 	}
 
-	private void horizontalMove() throws InvalidMoveException {
-		int change = changeX > 0 ? -1 : 1;
-
-		for (int x = fromX + change; x != toX; x = x + change) {
-			Coordinate coordinate = new Coordinate(x, toY);
-			if (this.board.getPieceAt(coordinate) != null) {
-				throw new InvalidMoveException();
-			}
-		}
-	}
-
-	private void verticalMove() throws InvalidMoveException {
-		int change = changeY > 0 ? -1 : 1;
-
-		for (int y = fromY + change; y != toY; y = y + change) {
-			Coordinate coordinate = new Coordinate(toX, y);
-			if (this.board.getPieceAt(coordinate) != null) {
-				throw new InvalidMoveException();
-			}
-		}
+	/**
+	 * Checks if all squares between given coordinates are empty, without
+	 * throwing exceptions
+	 *
+	 * @param from
+	 *            coordinates of 'from' field
+	 * @param to
+	 *            coordinates of 'to' field
+	 * @param board
+	 *            chess board
+	 * @return true if the road is empty, false otherwise
+	 */
+	public boolean isRoadToPieceDestinationEmpty(Coordinate from, Coordinate to, Board board) {
+		long road = AttackTables.between(from.getIndex(), to.getIndex());
+		return (road & board.getOccupancy()) == Bitboards.EMPTY;
 	}
 
-	private void diagonalMove() throws InvalidMoveException {
-		changeX = changeX > 0 ? -1 : 1;
-		changeY = changeY > 0 ? -1 : 1;
-		for (int x = fromX + changeX, y = fromY + changeY; x != toX && y != toY; x = x + changeX, y = y + changeY) {
-			Coordinate coordinate = new Coordinate(x, y);
-			if(this.board.getPieceAt(coordinate) != null) {
-				throw new InvalidMoveException();
-			}
-		}
+	protected static boolean canReach(long reachableSquares, Coordinate to) {
+		return Bitboards.contains(reachableSquares, to.getIndex());
 	}
 }
@@ -1,5 +1,6 @@
 package com.capgemini.chess.algorithms.validator;
 
+import com.capgemini.chess.algorithms.bitboard.AttackTables;
 import com.capgemini.chess.algorithms.data.Coordinate;
 import com.capgemini.chess.algorithms.data.enums.MoveType;
 import com.capgemini.chess.algorithms.data.enums.Piece;
@@ -8,15 +9,6 @@ public class KnightValidator extends AbstractMoveValidator {
 
 	@Override
 	public boolean checkIfPieceCanMoveTo(Piece piece, Coordinate from, Coordinate to, MoveType moveType) {
-		int changeX = Math.abs(from.getX() - to.getX());
-		int changeY = Math.abs(from.getY() - to.getY());
-		
-		if (changeX == 1 && changeY == 2) {
-			return true;
-		} else if (changeX == 2 && changeY == 1) {
-			return true;
-		}
-		
-		return false;
+		return canReach(AttackTables.knightAttacks(from.getIndex()), to);
 	}
 }
@@ -1,5 +1,6 @@
 package com.capgemini.chess.algorithms.validator;
 
+import com.capgemini.chess.algorithms.bitboard.AttackTables;
 import com.capgemini.chess.algorithms.data.Coordinate;
 import com.capgemini.chess.algorithms.data.enums.MoveType;
 import com.capgemini.chess.algorithms.data.enums.Piece;
@@ -8,17 +9,7 @@ public class QueenValidator extends AbstractMoveValidator {
 
 	@Override
 	public boolean checkIfPieceCanMoveTo(Piece piece, Coordinate from, Coordinate to, MoveType moveType) {
-		int changeX = Math.abs(from.getX() - to.getX());
-		int changeY = Math.abs(from.getY() - to.getY());
-		
-		if (changeX == 0 && changeY > 0) {
-			return true;
-		} else if (changeX > 0 && changeY == 0) {
-			return true;
-		} else if (changeX == changeY) {
-			return true;
-		}
-		return false;
+		int square = from.getIndex();
+		return canReach(AttackTables.rookRays(square) | AttackTables.bishopRays(square), to);
 	}
-
 }
@@ -0,0 +1,36 @@
+package com.capgemini.chess.algorithms.validator;
+
+import com.capgemini.chess.algorithms.data.enums.PieceType;
+
+/**
+ * Shared move validators indexed by piece type. Validators are stateless, so
+ * one instance of each serves all boards and threads.
+ *
+ */
+public final class Validators {
+
+	private static final AbstractMoveValidator[] VALIDATORS = new AbstractMoveValidator[PieceType.values().length];
+
+	static {
+		VALIDATORS[PieceType.KING.ordinal()] = new KingValidator();
+		VALIDATORS[PieceType.QUEEN.ordinal()] = new QueenValidator();
+		VALIDATORS[PieceType.BISHOP.ordinal()] = new BishopValidator();
+		VALIDATORS[PieceType.KNIGHT.ordinal()] = new KnightValidator();
+		VALIDATORS[PieceType.ROOK.ordinal()] = new RookValidator();
+		VALIDATORS[PieceType.PAWN.ordinal()] = new PawnValidator();
+	}
+
+	private Validators() {
+	}
+
+	/**
+	 * Gets validator of given piece type
+	 *
+	 * @param pieceType
+	 *            piece type
+	 * @return shared validator
+	 */
+	public static AbstractMoveValidator of(PieceType pieceType) {
+		return VALIDATORS[pieceType.ordinal()];
+	}
+}
@@ -0,0 +1,96 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.capgemini.chess.algorithms.data.Coordinate;
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.enums.BoardState;
+import com.capgemini.chess.algorithms.data.enums.MoveValidationResult;
+
+/**
+ * Test class for testing {@link BatchGameValidator}
+ *
+ */
+public class BatchGameValidatorTest {
+
+	private static final List<Move> FOOLS_MATE = moves("f2f3", "e7e5", "g2g4", "d8h4");
+	private static final List<Move> ILLEGAL_GAME = moves("e2e4", "e7e5", "e1e3", "b8c6");
+	private static final List<Move> REPETITION = moves("g1f3", "g8f6", "f3g1", "f6g8", "g1f3", "g8f6", "f3g1",
+			"f6g8");
+
+	@Test
+	public void testValidateKeepsOrderOfGames() {
+		// given
+		ForkJoinPool pool = new ForkJoinPool(4);
+		BatchGameValidator validator = new BatchGameValidator(pool, 2);
+		List<List<Move>> games = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			games.add(Arrays.asList(FOOLS_MATE, ILLEGAL_GAME, REPETITION).get(i % 3));
+		}
+
+		// when
+		List<GameValidationResult> results = new ArrayList<>();
+		for (Iterator<GameValidationResult> iterator = validator.validate(games.iterator()); iterator.hasNext();) {
+			results.add(iterator.next());
+		}
+		pool.shutdown();
+
+		// then
+		assertEquals(games.size(), results.size());
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i, results.get(i).getGameIndex());
+		}
+		GameValidationResult mate = results.get(0);
+		assertTrue(mate.isLegal());
+		assertEquals(4, mate.getPlyCount());
+		assertEquals(BoardState.CHECK_MATE, mate.getBoardState());
+
+		GameValidationResult illegal = results.get(1);
+		assertFalse(illegal.isLegal());
+		assertEquals(2, illegal.getIllegalPly());
+		assertEquals(MoveValidationResult.ILLEGAL_PIECE_MOVE, illegal.getRejection());
+		assertEquals(BoardState.REGULAR, illegal.getBoardState());
+
+		GameValidationResult repetition = results.get(2);
+		assertTrue(repetition.isLegal());
+		assertTrue(repetition.isThreefoldRepetition());
+		assertFalse(repetition.isFiftyMoveRule());
+	}
+
+	@Test
+	public void testValidateStream() {
+		// given
+		BatchGameValidator validator = new BatchGameValidator();
+
+		// when
+		List<GameValidationResult> results = validator.validate(Arrays.asList(ILLEGAL_GAME, FOOLS_MATE).stream())
+				.collect(Collectors.toList());
+
+		// then
+		assertEquals(2, results.size());
+		assertEquals(2, results.get(0).getIllegalPly());
+		assertEquals(-1, results.get(1).getIllegalPly());
+	}
+
+	private static List<Move> moves(String... notations) {
+		List<Move> moves = new ArrayList<>();
+		for (String notation : notations) {
+			Move move = new Move();
+			move.setFrom(Coordinate.of(notation.charAt(0) - 'a', notation.charAt(1) - '1'));
+			move.setTo(Coordinate.of(notation.charAt(2) - 'a', notation.charAt(3) - '1'));
+			moves.add(move);
+		}
+		return moves;
+	}
+}
@@ -5,14 +5,19 @@ import static org.junit.Assert.*;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.junit.Ignore;
 import org.junit.Test;
 
+import com.capgemini.chess.algorithms.bitboard.Bitboards;
 import com.capgemini.chess.algorithms.data.Coordinate;
 import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.MoveList;
+import com.capgemini.chess.algorithms.data.PackedMove;
 import com.capgemini.chess.algorithms.data.enums.BoardState;
+import com.capgemini.chess.algorithms.data.enums.Color;
 import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.data.enums.MoveValidationResult;
 import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.enums.PieceType;
 import com.capgemini.chess.algorithms.data.generated.Board;
 import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
 import com.capgemini.chess.algorithms.implementation.exceptions.KingInCheckException;
@@ -159,6 +164,346 @@ public class BoardManagerTest {
 		assertEquals(Piece.BLACK_QUEEN, boardManager.getBoard().getPieceAt(new Coordinate(1, 0)));
 	}
 	
+	@Test
+	public void testPerformMoveUnderpromotion() throws InvalidMoveException {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_KING, Coordinate.of(4, 0));
+		board.setPieceAt(Piece.WHITE_PAWN, Coordinate.of(0, 6));
+		board.setPieceAt(Piece.BLACK_KING, Coordinate.of(7, 7));
+		BoardManager boardManager = new BoardManager(board);
+		
+		// when
+		MoveValidationResult promotionToKing = boardManager.tryMove(Coordinate.of(0, 6), Coordinate.of(0, 7),
+				PieceType.KING);
+		MoveValidationResult promotionOfKing = boardManager.tryMove(Coordinate.of(4, 0), Coordinate.of(4, 1),
+				PieceType.QUEEN);
+		Move move = boardManager.performMove(Coordinate.of(0, 6), Coordinate.of(0, 7), PieceType.KNIGHT);
+		board.unmakeMove();
+		board.makeMove(PackedMove.fromMove(move));
+		
+		// then
+		assertEquals(MoveValidationResult.INVALID_PROMOTION, promotionToKing);
+		assertEquals(MoveValidationResult.INVALID_PROMOTION, promotionOfKing);
+		assertEquals(PieceType.KNIGHT, move.getPromotion());
+		assertEquals(Piece.WHITE_KNIGHT, board.getPieceAt(Coordinate.of(0, 7)));
+	}
+	
+	@Test
+	public void testTryMoveCastlingWithPromotion() throws InvalidMoveException {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_KING, Coordinate.of(4, 0));
+		board.setPieceAt(Piece.WHITE_ROOK, Coordinate.of(7, 0));
+		board.setPieceAt(Piece.BLACK_KING, Coordinate.of(7, 7));
+		BoardManager boardManager = new BoardManager(board);
+		
+		// when
+		MoveValidationResult castlingWithPromotion = boardManager.tryMove(Coordinate.of(4, 0), Coordinate.of(6, 0),
+				PieceType.QUEEN);
+		MoveValidationResult castling = boardManager.tryMove(Coordinate.of(4, 0), Coordinate.of(6, 0), null);
+		
+		// then
+		assertEquals(MoveValidationResult.INVALID_PROMOTION, castlingWithPromotion);
+		assertEquals(MoveValidationResult.VALID, castling);
+		assertEquals(1, board.getMoveHistory().size());
+		assertNull(board.getMoveHistory().get(0).getPromotion());
+	}
+	
+	@Test
+	public void testGenerateBoardBitboards() {
+		// given
+		List<Move> moves = new ArrayList<>();
+		Move move = new Move();
+		move.setFrom(new Coordinate(4, 1));
+		move.setTo(new Coordinate(4, 3));
+		move.setType(MoveType.ATTACK);
+		moves.add(move);
+		
+		// when
+		BoardManager boardManager = new BoardManager(moves);
+		
+		// then
+		Board board = boardManager.getBoard();
+		assertEquals(32, Long.bitCount(board.getOccupancy()));
+		assertEquals(16, Long.bitCount(board.getOccupancy(Color.WHITE)));
+		assertEquals(0xFFFF000000000000L, board.getOccupancy(Color.BLACK));
+		assertEquals(0x1000EF00L, board.getBitboard(Piece.WHITE_PAWN));
+		assertEquals(Piece.WHITE_PAWN, board.getPieceAt(4 + 3 * Board.SIZE));
+	}
+	
+	@Test
+	public void testMakeAndUnmakeMoveRestoresBoard() {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_PAWN, new Coordinate(1, 4));
+		board.setPieceAt(Piece.BLACK_PAWN, new Coordinate(2, 4));
+		board.setPieceAt(Piece.BLACK_ROOK, new Coordinate(2, 7));
+		long positionKey = board.getPositionKey();
+		long blackPawns = board.getBitboard(Piece.BLACK_PAWN);
+		Move move = new Move();
+		move.setFrom(new Coordinate(1, 4));
+		move.setTo(new Coordinate(2, 5));
+		move.setType(MoveType.EN_PASSANT);
+		
+		// when
+		board.makeMove(move);
+		boolean pawnCaptured = board.getPieceAt(new Coordinate(2, 4)) == null;
+		Move takenBack = board.unmakeMove();
+		
+		// then
+		assertTrue(pawnCaptured);
+		assertSame(move, takenBack);
+		assertEquals(positionKey, board.getPositionKey());
+		assertEquals(blackPawns, board.getBitboard(Piece.BLACK_PAWN));
+		assertEquals(Piece.BLACK_PAWN, board.getPieceAt(new Coordinate(2, 4)));
+		assertTrue(board.getMoveHistory().isEmpty());
+		assertFalse(board.canUnmakeMove());
+	}
+	
+	@Test
+	public void testPositionKeyOfTransposition() throws InvalidMoveException {
+		// given
+		BoardManager knightsFirst = new BoardManager();
+		BoardManager pawnsFirst = new BoardManager();
+		long initialKey = knightsFirst.getBoard().getPositionKey();
+		
+		// when
+		knightsFirst.performMove(new Coordinate(6, 0), new Coordinate(5, 2));
+		long keyAfterFirstMove = knightsFirst.getBoard().getPositionKey();
+		knightsFirst.performMove(new Coordinate(6, 7), new Coordinate(5, 5));
+		knightsFirst.performMove(new Coordinate(3, 1), new Coordinate(3, 2));
+		knightsFirst.performMove(new Coordinate(3, 6), new Coordinate(3, 5));
+		pawnsFirst.performMove(new Coordinate(3, 1), new Coordinate(3, 2));
+		pawnsFirst.performMove(new Coordinate(3, 6), new Coordinate(3, 5));
+		pawnsFirst.performMove(new Coordinate(6, 0), new Coordinate(5, 2));
+		pawnsFirst.performMove(new Coordinate(6, 7), new Coordinate(5, 5));
+		long keyBeforeUnmake = pawnsFirst.getBoard().getPositionKey();
+		pawnsFirst.getBoard().unmakeMove();
+		pawnsFirst.getBoard().makeMove(knightsFirst.getBoard().getMoveHistory().get(1));
+		
+		// then
+		assertNotEquals(initialKey, keyAfterFirstMove);
+		assertEquals(knightsFirst.getBoard().getPositionKey(), keyBeforeUnmake);
+		assertEquals(keyBeforeUnmake, pawnsFirst.getBoard().getPositionKey());
+	}
+	
+	@Test
+	public void testGetPiecesReturnsCopy() {
+		// given
+		BoardManager boardManager = new BoardManager();
+		Board board = boardManager.getBoard();
+		long positionKey = board.getPositionKey();
+		
+		// when
+		Piece[][] pieces = board.getPieces();
+		pieces[4][0] = null;
+		
+		// then
+		assertEquals(Piece.WHITE_KING, board.getPieceAt(new Coordinate(4, 0)));
+		assertEquals(Piece.WHITE_KING, board.getPieces()[4][0]);
+		assertEquals(positionKey, board.getPositionKey());
+	}
+	
+	@Test
+	public void testPositionKeyOfCastlingRightsAndEnPassant() throws InvalidMoveException {
+		// given
+		BoardManager rookMoved = new BoardManager();
+		BoardManager rookNotMoved = new BoardManager();
+		
+		// when
+		rookMoved.performMove(new Coordinate(7, 1), new Coordinate(7, 3));
+		rookMoved.performMove(new Coordinate(0, 6), new Coordinate(0, 5));
+		rookMoved.performMove(new Coordinate(7, 0), new Coordinate(7, 1));
+		rookMoved.performMove(new Coordinate(0, 5), new Coordinate(0, 4));
+		rookMoved.performMove(new Coordinate(7, 1), new Coordinate(7, 0));
+		rookMoved.performMove(new Coordinate(0, 4), new Coordinate(0, 3));
+		rookNotMoved.performMove(new Coordinate(7, 1), new Coordinate(7, 3));
+		rookNotMoved.performMove(new Coordinate(0, 6), new Coordinate(0, 5));
+		rookNotMoved.performMove(new Coordinate(6, 0), new Coordinate(5, 2));
+		rookNotMoved.performMove(new Coordinate(0, 5), new Coordinate(0, 4));
+		rookNotMoved.performMove(new Coordinate(5, 2), new Coordinate(6, 0));
+		rookNotMoved.performMove(new Coordinate(0, 4), new Coordinate(0, 3));
+		long keyWithoutEnPassant = rookNotMoved.getBoard().getPositionKey();
+		boolean samePlacement = true;
+		for (Piece piece : Piece.values()) {
+			samePlacement &= rookMoved.getBoard().getBitboard(piece) == rookNotMoved.getBoard().getBitboard(piece);
+		}
+		rookNotMoved.performMove(new Coordinate(1, 1), new Coordinate(1, 3));
+		Board enPassantPossible = new Board(rookNotMoved.getBoard());
+		
+		// then
+		assertEquals(Board.WHITE_QUEEN_SIDE_CASTLING | Board.BLACK_KING_SIDE_CASTLING
+				| Board.BLACK_QUEEN_SIDE_CASTLING, rookMoved.getBoard().getCastlingRights());
+		assertEquals(Board.ALL_CASTLING_RIGHTS, rookNotMoved.getBoard().getCastlingRights());
+		assertTrue(samePlacement);
+		assertNotEquals(keyWithoutEnPassant, rookMoved.getBoard().getPositionKey());
+		assertEquals(Bitboards.square(1, 2), enPassantPossible.getEnPassantSquare());
+		assertEquals(enPassantPossible.getPositionKey(), rookNotMoved.getBoard().getPositionKey());
+	}
+	
+	@Test
+	public void testCoordinateOfReturnsCachedSquares() {
+		// when
+		Coordinate coordinate = Coordinate.of(3, 5);
+		Coordinate outOfBoard = Coordinate.of(8, 5);
+		
+		// then
+		assertSame(coordinate, Coordinate.of(3, 5));
+		assertSame(coordinate, Coordinate.ofIndex(43));
+		assertEquals(43, coordinate.getIndex());
+		assertEquals(new Coordinate(3, 5), coordinate);
+		assertEquals(8, outOfBoard.getX());
+		assertNotSame(outOfBoard, Coordinate.of(8, 5));
+	}
+	
+	@Test
+	public void testPackedMoveRoundTrip() {
+		// given
+		Move move = new Move();
+		move.setFrom(Coordinate.of(4, 6));
+		move.setTo(Coordinate.of(3, 7));
+		move.setType(MoveType.CAPTURE);
+		move.setMovedPiece(Piece.WHITE_PAWN);
+		
+		// when
+		int packedMove = PackedMove.fromMove(move);
+		Move unpackedMove = PackedMove.toMove(packedMove);
+		int promotion = PackedMove.of(52, 59, MoveType.CAPTURE, Piece.WHITE_PAWN, PieceType.KNIGHT);
+		int promotionFromShort = PackedMove.fromShort(PackedMove.toShort(promotion));
+		MoveList moves = new MoveList(1);
+		moves.add(packedMove);
+		moves.add(promotion);
+		
+		// then
+		assertSame(move.getFrom(), unpackedMove.getFrom());
+		assertSame(move.getTo(), unpackedMove.getTo());
+		assertEquals(MoveType.CAPTURE, unpackedMove.getType());
+		assertEquals(Piece.WHITE_PAWN, unpackedMove.getMovedPiece());
+		assertNull(PackedMove.promotion(packedMove));
+		assertEquals(PieceType.KNIGHT, PackedMove.promotion(promotionFromShort));
+		assertEquals(MoveType.CAPTURE, PackedMove.type(promotionFromShort));
+		assertEquals(59, PackedMove.to(promotionFromShort));
+		assertNull(PackedMove.movedPiece(promotionFromShort));
+		assertEquals(2, moves.size());
+		assertEquals(promotion, moves.get(1));
+	}
+	
+	@Test
+	public void testKingSquareFollowsMakeAndUnmakeMove() {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_KING, Coordinate.of(4, 0));
+		board.setPieceAt(Piece.WHITE_ROOK, Coordinate.of(7, 0));
+		Move move = new Move();
+		move.setFrom(Coordinate.of(4, 0));
+		move.setTo(Coordinate.of(6, 0));
+		move.setType(MoveType.CASTLING);
+		
+		// when
+		board.makeMove(move);
+		int kingSquareAfterCastling = board.getKingSquare(Color.WHITE);
+		board.unmakeMove();
+		
+		// then
+		assertEquals(6, kingSquareAfterCastling);
+		assertEquals(4, board.getKingSquare(Color.WHITE));
+		assertEquals(Board.NO_SQUARE, board.getKingSquare(Color.BLACK));
+	}
+	
+	@Test
+	public void testTryMoveReportsRejectionReason() {
+		// given
+		BoardManager boardManager = new BoardManager();
+		
+		// when
+		MoveValidationResult outOfBoard = boardManager.tryMove(Coordinate.of(0, 1), new Coordinate(0, 8));
+		MoveValidationResult emptySquare = boardManager.tryMove(Coordinate.of(0, 3), Coordinate.of(0, 4));
+		MoveValidationResult opponentPiece = boardManager.tryMove(Coordinate.of(0, 6), Coordinate.of(0, 5));
+		MoveValidationResult ownPiece = boardManager.tryMove(Coordinate.of(0, 0), Coordinate.of(0, 1));
+		MoveValidationResult roadBlocked = boardManager.tryMove(Coordinate.of(0, 0), Coordinate.of(0, 3));
+		MoveValidationResult illegal = boardManager.tryMove(Coordinate.of(1, 0), Coordinate.of(1, 2));
+		boolean isLegal = boardManager.isLegal(Coordinate.of(1, 0), Coordinate.of(2, 2));
+		int historySizeBeforeValidMove = boardManager.getBoard().getMoveHistory().size();
+		MoveValidationResult valid = boardManager.tryMove(Coordinate.of(1, 0), Coordinate.of(2, 2));
+		
+		// then
+		assertEquals(MoveValidationResult.INVALID_COORDINATES, outOfBoard);
+		assertEquals(MoveValidationResult.NO_PIECE_TO_MOVE, emptySquare);
+		assertEquals(MoveValidationResult.OPPONENT_PIECE_TO_MOVE, opponentPiece);
+		assertEquals(MoveValidationResult.OWN_PIECE_AT_DESTINATION, ownPiece);
+		assertEquals(MoveValidationResult.ROAD_BLOCKED, roadBlocked);
+		assertEquals(MoveValidationResult.ILLEGAL_PIECE_MOVE, illegal);
+		assertTrue(isLegal);
+		assertEquals(0, historySizeBeforeValidMove);
+		assertEquals(MoveValidationResult.VALID, valid);
+		assertEquals(1, boardManager.getBoard().getMoveHistory().size());
+	}
+	
+	@Test
+	public void testTryMoveKingInCheck() {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_KING, Coordinate.of(4, 0));
+		board.setPieceAt(Piece.WHITE_BISHOP, Coordinate.of(4, 1));
+		board.setPieceAt(Piece.BLACK_ROOK, Coordinate.of(4, 7));
+		BoardManager boardManager = new BoardManager(board);
+		
+		// when
+		MoveValidationResult result = boardManager.tryMove(Coordinate.of(4, 1), Coordinate.of(5, 2));
+		
+		// then
+		assertEquals(MoveValidationResult.KING_IN_CHECK, result);
+		assertTrue(board.getMoveHistory().isEmpty());
+	}
+	
+	@Test
+	public void testIsSquareAttacked() {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.BLACK_ROOK, Coordinate.of(0, 7));
+		board.setPieceAt(Piece.BLACK_PAWN, Coordinate.of(4, 4));
+		board.setPieceAt(Piece.WHITE_KNIGHT, Coordinate.of(0, 4));
+		
+		// when
+		boolean pawnAttack = board.isSquareAttacked(Coordinate.of(3, 3), Color.BLACK);
+		boolean pawnForward = board.isSquareAttacked(Coordinate.of(4, 3), Color.BLACK);
+		boolean rookAttack = board.isSquareAttacked(Coordinate.of(0, 4), Color.BLACK);
+		boolean rookBlocked = board.isSquareAttacked(Coordinate.of(0, 3), Color.BLACK);
+		boolean knightAttack = board.isSquareAttacked(Coordinate.of(2, 5), Color.WHITE);
+		
+		// then
+		assertTrue(pawnAttack);
+		assertFalse(pawnForward);
+		assertTrue(rookAttack);
+		assertFalse(rookBlocked);
+		assertTrue(knightAttack);
+	}
+	
+	@Test
+	public void testPositionAnalysisPinsAndCheckers() {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_KING, Coordinate.of(4, 0));
+		board.setPieceAt(Piece.WHITE_ROOK, Coordinate.of(4, 2));
+		board.setPieceAt(Piece.WHITE_KNIGHT, Coordinate.of(1, 2));
+		board.setPieceAt(Piece.BLACK_QUEEN, Coordinate.of(4, 6));
+		board.setPieceAt(Piece.BLACK_BISHOP, Coordinate.of(0, 5));
+		PositionAnalysis analysis = new PositionAnalysis(board);
+		
+		// when
+		analysis.analyse(Color.WHITE);
+		
+		// then
+		assertFalse(analysis.isInCheck());
+		assertEquals(Bitboards.bit(Coordinate.of(4, 2).getIndex()), analysis.getPinned());
+		assertTrue(analysis.isLegal(Coordinate.of(4, 2).getIndex(), Coordinate.of(4, 5).getIndex(), MoveType.ATTACK));
+		assertFalse(analysis.isLegal(Coordinate.of(4, 2).getIndex(), Coordinate.of(0, 2).getIndex(), MoveType.ATTACK));
+		assertTrue(analysis.isLegal(Coordinate.of(1, 2).getIndex(), Coordinate.of(0, 4).getIndex(), MoveType.ATTACK));
+		assertFalse(analysis.isLegal(Coordinate.of(4, 0).getIndex(), Coordinate.of(5, 0).getIndex(), MoveType.ATTACK));
+		assertTrue(analysis.isLegal(Coordinate.of(4, 0).getIndex(), Coordinate.of(3, 0).getIndex(), MoveType.ATTACK));
+	}
+	
 	@Test
 	public void testPerformMoveBishopAttack() throws InvalidMoveException {
 		// given
@@ -255,7 +600,6 @@ public class BoardManagerTest {
 		assertEquals(Piece.BLACK_ROOK, move.getMovedPiece());
 	}
 
-	@Ignore
 	@Test
 	public void testPerformMoveCastling() throws InvalidMoveException {
 		// given
@@ -272,6 +616,45 @@ public class BoardManagerTest {
 		assertEquals(Piece.WHITE_KING, move.getMovedPiece());
 	}
 	
+	@Test
+	public void testPerformMoveQueenSideCastling() throws InvalidMoveException {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_KING, new Coordinate(4, 0));
+		board.setPieceAt(Piece.WHITE_ROOK, new Coordinate(0, 0));
+		board.setPieceAt(Piece.BLACK_KING, new Coordinate(4, 7));
+		
+		// when
+		BoardManager boardManager = new BoardManager(board);
+		Move move = boardManager.performMove(new Coordinate(4, 0), new Coordinate(2, 0));
+		
+		// then
+		assertEquals(MoveType.CASTLING, move.getType());
+		assertEquals(Piece.WHITE_KING, board.getPieceAt(new Coordinate(2, 0)));
+		assertEquals(Piece.WHITE_ROOK, board.getPieceAt(new Coordinate(3, 0)));
+		assertEquals(0, board.getCastlingRights() & (Board.WHITE_KING_SIDE_CASTLING | Board.WHITE_QUEEN_SIDE_CASTLING));
+	}
+	
+	@Test
+	public void testPerformMoveInvalidCastlingRookCaptured() throws InvalidMoveException {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_KING, new Coordinate(4, 0));
+		board.setPieceAt(Piece.WHITE_ROOK, new Coordinate(7, 0));
+		board.setPieceAt(Piece.WHITE_KNIGHT, new Coordinate(0, 1));
+		board.setPieceAt(Piece.BLACK_KNIGHT, new Coordinate(6, 2));
+		BoardManager boardManager = new BoardManager(board);
+		boardManager.performMove(new Coordinate(0, 1), new Coordinate(1, 3));
+		boardManager.performMove(new Coordinate(6, 2), new Coordinate(7, 0));
+		board.setPieceAt(Piece.WHITE_ROOK, new Coordinate(7, 0));
+		
+		// when
+		MoveValidationResult result = boardManager.tryMove(new Coordinate(4, 0), new Coordinate(6, 0));
+		
+		// then
+		assertEquals(MoveValidationResult.ILLEGAL_PIECE_MOVE, result);
+	}
+	
 	@Test
 	public void testPerformMoveEnPassant() throws InvalidMoveException {
 		// given
@@ -709,32 +1092,120 @@ public class BoardManagerTest {
 		assertEquals(BoardState.STALE_MATE, boardState);
 	}
 	
+	@Test
+	public void testGenerateLegalMovesInitialPosition() {
+		// given
+		BoardManager boardManager = new BoardManager();
+		
+		// when
+		List<Move> moves = boardManager.generateLegalMoves();
+		
+		// then
+		assertEquals(20, moves.size());
+	}
+	
+	@Test
+	public void testGenerateLegalMovesPinnedPieceAndCastling() {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_KING, new Coordinate(4, 0));
+		board.setPieceAt(Piece.WHITE_ROOK, new Coordinate(7, 0));
+		board.setPieceAt(Piece.WHITE_KNIGHT, new Coordinate(4, 1));
+		board.setPieceAt(Piece.BLACK_ROOK, new Coordinate(4, 7));
+		board.setPieceAt(Piece.BLACK_KING, new Coordinate(0, 7));
+		
+		// when
+		BoardManager boardManager = new BoardManager(board);
+		List<Move> moves = boardManager.generateLegalMoves();
+		
+		// then
+		boolean castlingFound = false;
+		for (Move move : moves) {
+			assertNotEquals(Piece.WHITE_KNIGHT, move.getMovedPiece());
+			if (move.getType() == MoveType.CASTLING) {
+				castlingFound = true;
+				assertEquals(new Coordinate(6, 0), move.getTo());
+			}
+		}
+		assertTrue(castlingFound);
+	}
+	
+	@Test
+	public void testUpdateBoardStateCachedByPosition() throws InvalidMoveException {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_KING, Coordinate.of(0, 0));
+		board.setPieceAt(Piece.BLACK_QUEEN, Coordinate.of(1, 2));
+		BoardStateCache cache = new BoardStateCache(1);
+		BoardManager boardManager = new BoardManager(board, cache);
+		
+		// when
+		BoardState staleMate = boardManager.updateBoardState();
+		BoardState cachedStaleMate = new BoardManager(board, cache).updateBoardState();
+		board.setPieceAt(null, Coordinate.of(1, 2));
+		board.setPieceAt(Piece.BLACK_QUEEN, Coordinate.of(1, 1));
+		BoardState check = boardManager.updateBoardState();
+		
+		// then
+		assertEquals(BoardState.STALE_MATE, staleMate);
+		assertEquals(BoardState.STALE_MATE, cachedStaleMate);
+		assertEquals(BoardState.CHECK, check);
+		assertEquals(BoardState.CHECK, board.getState());
+		assertEquals(1, cache.size());
+	}
+	
+	@Test
+	public void testBoardStateClearedWhenBoardChanges() throws InvalidMoveException {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_KING, Coordinate.of(0, 0));
+		board.setPieceAt(Piece.BLACK_QUEEN, Coordinate.of(1, 2));
+		BoardManager boardManager = new BoardManager(board, new BoardStateCache(1));
+		
+		// when
+		BoardState staleMate = boardManager.getBoardState();
+		BoardState storedStaleMate = board.getState();
+		board.setPieceAt(null, Coordinate.of(1, 2));
+		board.setPieceAt(Piece.BLACK_QUEEN, Coordinate.of(1, 1));
+		BoardState clearedByPieces = board.getState();
+		BoardState check = boardManager.getBoardState();
+		board.setSideToMove(Color.BLACK);
+		BoardState clearedBySideToMove = board.getState();
+		
+		// then
+		assertEquals(BoardState.STALE_MATE, staleMate);
+		assertEquals(BoardState.STALE_MATE, storedStaleMate);
+		assertNull(clearedByPieces);
+		assertEquals(BoardState.CHECK, check);
+		assertNull(clearedBySideToMove);
+	}
+	
 	@Test
 	public void testCheckThreefoldRepetitionRuleSuccessful() {
 		// given
 		List<Move> moves = new ArrayList<>();
 		for (int i = 0; i < 2; i++) {
 			Move move1 = new Move();
-			move1.setFrom(new Coordinate(5, 1));
-			move1.setTo(new Coordinate(5, 3));
+			move1.setFrom(new Coordinate(6, 0));
+			move1.setTo(new Coordinate(5, 2));
 			move1.setType(MoveType.ATTACK);
 			moves.add(move1);
 			
 			Move move2 = new Move();
-			move2.setFrom(new Coordinate(5, 6));
-			move2.setTo(new Coordinate(5, 4));
+			move2.setFrom(new Coordinate(6, 7));
+			move2.setTo(new Coordinate(5, 5));
 			move2.setType(MoveType.ATTACK);
 			moves.add(move2);
 			
 			Move move3 = new Move();
-			move3.setFrom(new Coordinate(5, 3));
-			move3.setTo(new Coordinate(5, 1));
+			move3.setFrom(new Coordinate(5, 2));
+			move3.setTo(new Coordinate(6, 0));
 			move3.setType(MoveType.ATTACK);
 			moves.add(move3);
 			
 			Move move4 = new Move();
-			move4.setFrom(new Coordinate(5, 4));
-			move4.setTo(new Coordinate(5, 6));
+			move4.setFrom(new Coordinate(5, 5));
+			move4.setTo(new Coordinate(6, 7));
 			move4.setType(MoveType.ATTACK);
 			moves.add(move4);
 		}
@@ -783,6 +1254,29 @@ public class BoardManagerTest {
 		assertFalse(isThreefoldRepetition);
 	}
 	
+	@Test
+	public void testCheckThreefoldRepetitionRuleCastlingRightsLost() throws InvalidMoveException {
+		// given
+		BoardManager boardManager = new BoardManager();
+		boardManager.performMove(new Coordinate(4, 1), new Coordinate(4, 3));
+		boardManager.performMove(new Coordinate(4, 6), new Coordinate(4, 4));
+		
+		// when
+		boolean[] isThreefoldRepetition = new boolean[3];
+		for (int i = 0; i < isThreefoldRepetition.length; i++) {
+			boardManager.performMove(new Coordinate(4, 0), new Coordinate(4, 1));
+			boardManager.performMove(new Coordinate(4, 7), new Coordinate(4, 6));
+			boardManager.performMove(new Coordinate(4, 1), new Coordinate(4, 0));
+			boardManager.performMove(new Coordinate(4, 6), new Coordinate(4, 7));
+			isThreefoldRepetition[i] = boardManager.checkThreefoldRepetitionRule();
+		}
+		
+		// then
+		assertFalse(isThreefoldRepetition[0]);
+		assertFalse(isThreefoldRepetition[1]);
+		assertTrue(isThreefoldRepetition[2]);
+	}
+	
 	@Test
 	public void testCheckFiftyMoveRuleSuccessful() {
 		// given
@@ -840,6 +1334,45 @@ public class BoardManagerTest {
 		assertFalse(areFiftyMoves);
 	}
 	
+	@Test
+	public void testCheckSeventyFiveMoveRuleSuccessful() {
+		// given
+		Board board = new Board();
+		board.setHalfmoveClock(100);
+		BoardManager boardManager = new BoardManager(board);
+		for (int i = 0; i < 50; i++) {
+			board.getMoveHistory().add(createDummyMove(board));
+		}
+		
+		// when
+		boolean areSeventyFiveMoves = boardManager.checkSeventyFiveMoveRule();
+		
+		// then
+		assertTrue(areSeventyFiveMoves);
+		assertEquals(150, board.getHalfmoveClock());
+	}
+	
+	@Test
+	public void testHalfmoveClockResetByCaptureAndRestoredByUnmake() {
+		// given
+		Board board = new Board();
+		board.setPieceAt(Piece.WHITE_ROOK, new Coordinate(0, 0));
+		board.setPieceAt(Piece.BLACK_KNIGHT, new Coordinate(0, 5));
+		board.setHalfmoveClock(40);
+		Move move = new Move();
+		move.setFrom(new Coordinate(0, 0));
+		move.setTo(new Coordinate(0, 5));
+		move.setType(MoveType.CAPTURE);
+		
+		// when
+		board.makeMove(move);
+		int clockAfterCapture = board.getHalfmoveClock();
+		board.unmakeMove();
+		
+		// then
+		assertEquals(0, clockAfterCapture);
+		assertEquals(40, board.getHalfmoveClock());
+	}
 	
 	private Move createDummyMove(Board board) {
 		
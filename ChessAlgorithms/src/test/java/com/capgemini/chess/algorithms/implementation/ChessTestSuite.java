@@ -4,6 +4,8 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import com.capgemini.chess.algorithms.search.SearchEngineTest;
+
 /**
  * Test suite containing all tests
  *
@@ -11,7 +13,10 @@ import org.junit.runners.Suite.SuiteClasses;
  *
  */
 @RunWith(Suite.class)
-@SuiteClasses({ BoardManagerTest.class })
+@SuiteClasses({ BoardManagerTest.class, PerftTest.class, FenTest.class,
+		PgnReaderTest.class, BatchGameValidatorTest.class,
+		GameArchiveTest.class, PositionIndexTest.class,
+		SearchEngineTest.class })
 public class ChessTestSuite {
 
 }
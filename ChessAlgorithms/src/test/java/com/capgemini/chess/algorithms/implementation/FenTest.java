@@ -0,0 +1,135 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import com.capgemini.chess.algorithms.data.Coordinate;
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.enums.Color;
+import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidFenException;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Test class for testing {@link Fen}
+ *
+ */
+public class FenTest {
+
+	@Test
+	public void testFormatAfterPawnDoubleStep() throws InvalidMoveException {
+		// given
+		BoardManager boardManager = new BoardManager();
+
+		// when
+		boardManager.performMove(Coordinate.of(4, 1), Coordinate.of(4, 3));
+		String fen = Fen.format(boardManager.getBoard());
+
+		// then
+		assertEquals("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1", fen);
+	}
+
+	@Test
+	public void testParseReferencePositionsRoundTrip() throws InvalidFenException {
+		for (PerftPosition position : PerftPosition.values()) {
+			// when
+			String fen = Fen.format(Fen.parse(position.getFen()));
+
+			// then
+			assertEquals(position.getFen(), fen);
+		}
+	}
+
+	@Test
+	public void testParseSideToMoveAndClocks() throws InvalidFenException, InvalidMoveException {
+		// given
+		BoardManager boardManager = new BoardManager("r3k2r/8/8/8/8/8/8/4K3 b kq - 12 40");
+
+		// when
+		Color sideToMove = boardManager.getBoard().getSideToMove();
+		boardManager.performMove(Coordinate.of(4, 7), Coordinate.of(6, 7));
+
+		// then
+		assertEquals(Color.BLACK, sideToMove);
+		assertEquals(Piece.BLACK_ROOK, boardManager.getBoard().getPieceAt(Coordinate.of(5, 7)));
+		assertEquals("r4rk1/8/8/8/8/8/8/4K3 w - - 13 41", Fen.format(boardManager.getBoard()));
+	}
+
+	@Test
+	public void testParseSamePositionKeyAsReplayedGame() throws InvalidFenException, InvalidMoveException {
+		// given
+		BoardManager boardManager = new BoardManager();
+		boardManager.performMove(Coordinate.of(4, 1), Coordinate.of(4, 3));
+		boardManager.performMove(Coordinate.of(3, 6), Coordinate.of(3, 4));
+		boardManager.performMove(Coordinate.of(4, 3), Coordinate.of(4, 4));
+		boardManager.performMove(Coordinate.of(5, 6), Coordinate.of(5, 4));
+
+		// when
+		Board board = Fen.parse(Fen.format(boardManager.getBoard()));
+
+		// then
+		assertEquals(boardManager.getBoard().getPositionKey(), board.getPositionKey());
+		assertEquals(5 * 8 + 5, board.getEnPassantSquare());
+		assertEquals(3, board.getFullmoveNumber());
+	}
+
+	@Test
+	public void testParseEnPassantSquareGeneratesCapture() throws InvalidFenException {
+		// given
+		Board board = Fen.parse("8/8/3p4/1Pp4r/1K5k/8/8/8 w - c6 0 2");
+
+		// when
+		long nodes = new Perft(board).perft(1);
+
+		// then
+		assertEquals(7L, nodes);
+		assertEquals(5 * 8 + 2, board.getEnPassantSquare());
+	}
+
+	@Test
+	public void testParseEnPassantSquareAcceptsCapture() throws InvalidFenException, InvalidMoveException {
+		// given
+		BoardManager boardManager = new BoardManager("rnbqkbnr/ppppp1pp/8/4Pp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3");
+
+		// when
+		int moveCount = boardManager.generateLegalMoves().size();
+		Move move = boardManager.performMove(Coordinate.of(4, 4), Coordinate.of(5, 5));
+
+		// then
+		assertEquals(31, moveCount);
+		assertEquals(MoveType.EN_PASSANT, move.getType());
+		assertNull(boardManager.getBoard().getPieceAt(Coordinate.of(5, 4)));
+		assertEquals("rnbqkbnr/ppppp1pp/5P2/8/8/8/PPPP1PPP/RNBQKBNR b KQkq - 0 3",
+				Fen.format(boardManager.getBoard()));
+	}
+
+	@Test
+	public void testLoadReusesBoard() throws InvalidFenException {
+		// given
+		Board board = PerftPosition.KIWIPETE.createBoard();
+
+		// when
+		Fen.load("4k3/8/8/8/8/8/8/4K3 w - -", board);
+
+		// then
+		assertNull(board.getPieceAt(Coordinate.of(0, 0)));
+		assertEquals(Piece.WHITE_KING, board.getPieceAt(Coordinate.of(4, 0)));
+		assertEquals("4k3/8/8/8/8/8/8/4K3 w - - 0 1", Fen.format(board));
+	}
+
+	@Test(expected = InvalidFenException.class)
+	public void testParseInvalidRowLength() throws InvalidFenException {
+		// when
+		Fen.parse("rnbqkbnr/ppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+	}
+
+	@Test(expected = InvalidFenException.class)
+	public void testParseInvalidEnPassantSquare() throws InvalidFenException {
+		// when
+		Fen.parse("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e6 0 1");
+	}
+}
@@ -0,0 +1,88 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.GameResult;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidFenException;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Test class for testing {@link GameArchiveWriter} and
+ * {@link GameArchiveReader}
+ *
+ */
+public class GameArchiveTest {
+
+	private static final String[] OPERA_GAME = { "e4", "e5", "Nf3", "d6", "d4", "Bg4", "dxe5", "Bxf3", "Qxf3",
+			"dxe5", "Bc4", "Nf6", "Qb3", "Qe7", "Nc3", "c6", "Bg5", "b5", "Nxb5", "cxb5", "Bxb5+", "Nbd7", "O-O-O",
+			"Rd8", "Rxd7", "Rxd7", "Rd1", "Qe6", "Bxd7+", "Nxd7", "Qb8+", "Nxb8", "Rd8#" };
+	private static final String[] EN_PASSANT_AND_UNDERPROMOTION = { "e4", "d5", "e5", "f5", "exf6", "g6", "fxe7",
+			"Bg7", "exd8=N", "Kxd8" };
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testWriteAppendAndRead() throws IOException, InvalidFenException, InvalidMoveException {
+		// given
+		Path path = folder.newFile("games.bin").toPath();
+		Board opera = play(OPERA_GAME);
+		Board underpromotion = play(EN_PASSANT_AND_UNDERPROMOTION);
+
+		// when
+		try (GameArchiveWriter writer = GameArchiveWriter.create(path)) {
+			writer.writeGame(opera.getMoveHistory(), GameResult.WON, 7, 11);
+		}
+		try (GameArchiveWriter writer = GameArchiveWriter.append(path)) {
+			writer.writeGame(underpromotion.getMoveHistory(), null, 12, 7);
+		}
+
+		// then
+		try (GameArchiveReader reader = GameArchiveReader.open(path)) {
+			assertEquals(2, reader.getGameCount());
+			assertEquals(GameResult.WON, reader.getResult(0));
+			assertEquals(7, reader.getWhitePlayerId(0));
+			assertEquals(11, reader.getBlackPlayerId(0));
+			assertEquals(OPERA_GAME.length, reader.getPlyCount(0));
+			assertNull(reader.getResult(1));
+			assertEquals(12, reader.getWhitePlayerId(1));
+
+			short[] moves = new short[EN_PASSANT_AND_UNDERPROMOTION.length];
+			assertEquals(moves.length, reader.getMoves(1, moves));
+			assertEquals(PackedMove.toShort(PackedMove.fromMove(underpromotion.getMoveHistory().get(8))),
+					reader.getMove(1, 8));
+
+			Board replayedOpera = replay(reader, 0);
+			assertEquals(Fen.format(opera), Fen.format(replayedOpera));
+			assertEquals(opera.getPositionKey(), replayedOpera.getPositionKey());
+			assertTrue(replayedOpera.getMoveHistory().isEmpty());
+			assertEquals(Fen.format(underpromotion), Fen.format(replay(reader, 1)));
+		}
+	}
+
+	private static Board play(String[] sanMoves) throws InvalidFenException, InvalidMoveException {
+		Board board = Fen.parse(Fen.INITIAL_POSITION);
+		SanResolver resolver = new SanResolver(board);
+		for (String san : sanMoves) {
+			resolver.play(san);
+		}
+		return board;
+	}
+
+	private static Board replay(GameArchiveReader reader, long game) throws InvalidFenException {
+		Board board = Fen.parse(Fen.INITIAL_POSITION);
+		reader.replay(game, board);
+		return board;
+	}
+}
@@ -0,0 +1,120 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.MoveList;
+import com.capgemini.chess.algorithms.data.PackedMove;
+import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidFenException;
+
+/**
+ * Test class for testing {@link Perft}
+ *
+ */
+public class PerftTest {
+
+	private static final int TESTED_DEPTH = 3;
+
+	@Test
+	public void testPerftReferencePositions() {
+		for (PerftPosition position : PerftPosition.values()) {
+			// given
+			Perft perft = new Perft(position.createBoard());
+
+			for (int depth = 1; depth <= TESTED_DEPTH; depth++) {
+				// when
+				long nodes = perft.perft(depth);
+
+				// then
+				assertEquals(position + " depth " + depth, position.getNodeCount(depth), nodes);
+			}
+		}
+	}
+
+	@Test
+	public void testHasLegalMoveMatchesGeneratedMoves() throws InvalidFenException {
+		String[] fens = { "7k/5Q2/6K1/8/8/8/8/8 b - - 0 1", "R5k1/5ppp/8/8/8/8/8/6K1 b - - 1 1",
+				"8/8/8/8/8/2k5/1r6/K7 w - - 0 1", "8/8/3p4/1Pp4r/1K5k/8/8/8 w - c6 0 2" };
+		for (String fen : fens) {
+			// given
+			Board board = Fen.parse(fen);
+			MoveGenerator generator = new MoveGenerator(board);
+
+			// when
+			boolean hasLegalMove = generator.hasLegalMove(board.getSideToMove());
+
+			// then
+			assertEquals(fen, !generator.generateLegalMoves(board.getSideToMove()).isEmpty(), hasLegalMove);
+		}
+		for (PerftPosition position : PerftPosition.values()) {
+			Board board = position.createBoard();
+			assertTrue(position.name(), new MoveGenerator(board).hasLegalMove(board.getSideToMove()));
+		}
+	}
+
+	@Test
+	public void testGenerateCapturesMatchesGeneratedMoves() throws InvalidFenException {
+		String[] fens = { "8/8/3p4/1Pp4r/1K5k/8/8/8 w - c6 0 2", "r3k2r/1P6/8/8/8/8/8/4K2q w kq - 0 1",
+				"4k3/8/8/3q4/8/8/8/3RK3 w - - 0 1" };
+		List<Board> boards = new ArrayList<>();
+		for (String fen : fens) {
+			boards.add(Fen.parse(fen));
+		}
+		for (PerftPosition position : PerftPosition.values()) {
+			boards.add(position.createBoard());
+		}
+		for (Board board : boards) {
+			// given
+			MoveGenerator generator = new MoveGenerator(board);
+			MoveList captures = new MoveList();
+			Set<Integer> expected = new HashSet<>();
+			for (Move move : generator.generateLegalMoves(board.getSideToMove())) {
+				if (move.getType() == MoveType.CAPTURE || move.getType() == MoveType.EN_PASSANT
+						|| move.getPromotion() != null) {
+					expected.add(PackedMove.fromMove(move));
+				}
+			}
+
+			// when
+			generator.generateCaptures(board.getSideToMove(), captures);
+
+			// then
+			Set<Integer> generated = new HashSet<>();
+			for (int i = 0; i < captures.size(); i++) {
+				generated.add(captures.get(i));
+			}
+			assertEquals(Fen.format(board), expected, generated);
+			assertEquals(Fen.format(board), expected.size(), captures.size());
+		}
+	}
+
+	@Test
+	public void testDivideInitialPosition() {
+		// given
+		Perft perft = new Perft(PerftPosition.INITIAL.createBoard());
+
+		// when
+		Map<String, Long> nodesByMove = perft.divide(3);
+
+		// then
+		assertEquals(20, nodesByMove.size());
+		assertEquals(Long.valueOf(600L), nodesByMove.get("e2e4"));
+		assertEquals(Long.valueOf(440L), nodesByMove.get("g1f3"));
+		long nodes = 0L;
+		for (long count : nodesByMove.values()) {
+			nodes += count;
+		}
+		assertEquals(PerftPosition.INITIAL.getNodeCount(3), nodes);
+	}
+}
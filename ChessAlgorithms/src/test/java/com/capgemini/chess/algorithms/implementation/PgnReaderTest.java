@@ -0,0 +1,100 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import com.capgemini.chess.algorithms.data.Coordinate;
+import com.capgemini.chess.algorithms.data.enums.BoardState;
+import com.capgemini.chess.algorithms.data.enums.Piece;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Test class for testing {@link PgnReader} and {@link SanResolver}
+ *
+ */
+public class PgnReaderTest {
+
+	private static final String GAMES = "[Event \"Paris\"]\n"
+			+ "[White \"Morphy, Paul\"]\n"
+			+ "[Black \"Duke Karl / Count Isouard\"]\n"
+			+ "[Result \"1-0\"]\n"
+			+ "\n"
+			+ "1. e4 e5 2. Nf3 d6 3. d4 Bg4 {This is a weak move already.} 4. dxe5 Bxf3 5. Qxf3 dxe5 6. Bc4 Nf6\n"
+			+ "7. Qb3 Qe7 8. Nc3 c6 9. Bg5 (9. Qxb7 Qb4+ 10. Qxb4 Bxb4) 9... b5 $2 10. Nxb5 cxb5 11. Bxb5+ Nbd7\n"
+			+ "12. O-O-O Rd8 13. Rxd7 Rxd7 14. Rd1 Qe6 15. Bxd7+ Nxd7 16. Qb8+ Nxb8 17. Rd8# 1-0\n"
+			+ "\n"
+			+ "[Event \"Broken\"]\n"
+			+ "\n"
+			+ "1. e4 e5 2. Ke3 Nc6 *\n"
+			+ "\n"
+			+ "[Event \"Promotion\"]\n"
+			+ "[SetUp \"1\"]\n"
+			+ "[FEN \"7k/P7/8/8/8/8/8/K7 w - - 0 60\"]\n"
+			+ "\n"
+			+ "60. a8=N Kg7 ; knight instead of queen\n"
+			+ "61. Kb2 1/2-1/2\n";
+
+	@Test
+	public void testReadGames() throws IOException, InvalidMoveException {
+		// given
+		PgnReader reader = new PgnReader(new StringReader(GAMES));
+
+		// when
+		PgnGame opera = reader.readGame();
+		PgnGame broken = reader.readGame();
+		PgnGame promotion = reader.readGame();
+		PgnGame end = reader.readGame();
+		reader.close();
+
+		// then
+		assertTrue(opera.getError(), opera.isValid());
+		assertEquals("Morphy, Paul", opera.getHeader("White"));
+		assertEquals("1-0", opera.getResult());
+		assertEquals(33, opera.getMoves().size());
+		assertEquals(BoardState.CHECK_MATE, new BoardManager(opera.getMoves()).updateBoardState());
+
+		assertFalse(broken.isValid());
+		assertEquals(10, broken.getLineNumber());
+		assertEquals(2, broken.getMoves().size());
+		assertEquals("*", broken.getResult());
+
+		assertTrue(promotion.getError(), promotion.isValid());
+		assertEquals(Piece.WHITE_KNIGHT, promotion.getBoard().getPieceAt(Coordinate.of(0, 7)));
+		assertEquals("N7/6k1/8/8/8/8/1K6/8 b - - 2 61", Fen.format(promotion.getBoard()));
+		assertNull(end);
+	}
+
+	@Test
+	public void testResolveAmbiguousMove() throws InvalidMoveException {
+		// given
+		BoardManager boardManager = new BoardManager();
+		SanResolver resolver = new SanResolver(boardManager.getBoard());
+		resolver.play("Nf3");
+		resolver.play("Nf6");
+		resolver.play("Nc3");
+		resolver.play("Nc6");
+		resolver.play("Nd4");
+		resolver.play("Nd5");
+
+		// when
+		boolean isAmbiguous = false;
+		try {
+			resolver.resolve("Nb5");
+		} catch (InvalidMoveException e) {
+			isAmbiguous = true;
+		}
+		resolver.play("Ndb5");
+
+		// then
+		assertTrue(isAmbiguous);
+		assertEquals(Piece.WHITE_KNIGHT, boardManager.getBoard().getPieceAt(Coordinate.of(1, 4)));
+		assertEquals(Piece.WHITE_KNIGHT, boardManager.getBoard().getPieceAt(Coordinate.of(2, 2)));
+	}
+}
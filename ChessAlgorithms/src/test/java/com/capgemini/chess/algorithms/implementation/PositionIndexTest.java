@@ -0,0 +1,119 @@
+package com.capgemini.chess.algorithms.implementation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.capgemini.chess.algorithms.data.enums.GameResult;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidFenException;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Test class for testing {@link PositionIndexBuilder} and
+ * {@link PositionIndex}
+ *
+ */
+public class PositionIndexTest {
+
+	private static final String[] OPERA_GAME = { "e4", "e5", "Nf3", "d6", "d4", "Bg4", "dxe5", "Bxf3", "Qxf3",
+			"dxe5", "Bc4", "Nf6", "Qb3", "Qe7", "Nc3", "c6", "Bg5", "b5", "Nxb5", "cxb5", "Bxb5+", "Nbd7", "O-O-O",
+			"Rd8", "Rxd7", "Rxd7", "Rd1", "Qe6", "Bxd7+", "Nxd7", "Qb8+", "Nxb8", "Rd8#" };
+	private static final String[] PHILIDOR_DEFENCE = { "e4", "e5", "Nf3", "d6" };
+	private static final String[] KNIGHT_DANCE = { "Nf3", "Nf6", "Ng1", "Ng8", "Nf3", "Nf6", "Ng1", "Ng8" };
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testBuildAndFind() throws IOException, InvalidFenException, InvalidMoveException {
+		// given
+		Path path = folder.newFile("positions.idx").toPath();
+		PositionIndexBuilder builder = new PositionIndexBuilder(folder.getRoot().toPath());
+		Board opera = play(OPERA_GAME);
+		Board philidor = play(PHILIDOR_DEFENCE);
+
+		// when
+		builder.addGame(opera.getMoveHistory(), GameResult.WON);
+		builder.addGame(philidor.getMoveHistory(), GameResult.DRAW);
+		builder.addGame(play(KNIGHT_DANCE).getMoveHistory(), null);
+		builder.write(path);
+
+		// then
+		try (PositionIndex index = PositionIndex.open(path)) {
+			assertEquals(OPERA_GAME.length + 1 + 3, index.getPositionCount());
+			assertStatistics(index.find(Fen.parse(Fen.INITIAL_POSITION)), 5, 1, 1, 0);
+			assertStatistics(index.find(philidor), 2, 1, 1, 0);
+			assertStatistics(index.find(opera), 1, 1, 0, 0);
+			assertNull(index.find(Fen.parse("7k/8/8/8/8/8/8/K7 w - - 0 1")));
+		}
+	}
+
+	@Test
+	public void testBuildWithRunFilesAndMerge() throws IOException, InvalidFenException, InvalidMoveException {
+		// given
+		Path archive = folder.newFile("games.bin").toPath();
+		try (GameArchiveWriter writer = GameArchiveWriter.create(archive)) {
+			writer.writeGame(play(OPERA_GAME).getMoveHistory(), GameResult.WON, 1, 2);
+			writer.writeGame(play(PHILIDOR_DEFENCE).getMoveHistory(), GameResult.LOST, 2, 1);
+			writer.writeGame(play(KNIGHT_DANCE).getMoveHistory(), GameResult.DRAW, 3, 4);
+		}
+		Path whole = folder.newFile("whole.idx").toPath();
+		Path first = folder.newFile("first.idx").toPath();
+		Path second = folder.newFile("second.idx").toPath();
+		Path merged = folder.newFile("merged.idx").toPath();
+
+		// when
+		try (GameArchiveReader reader = GameArchiveReader.open(archive)) {
+			PositionIndexBuilder builder = new PositionIndexBuilder(folder.getRoot().toPath());
+			builder.addGames(reader, 0, reader.getGameCount());
+			builder.write(whole);
+			PositionIndexBuilder firstBuilder = new PositionIndexBuilder(folder.getRoot().toPath(), 5);
+			firstBuilder.addGames(reader, 0, 2);
+			firstBuilder.write(first);
+			PositionIndexBuilder secondBuilder = new PositionIndexBuilder(folder.getRoot().toPath(), 3);
+			secondBuilder.addGames(reader, 2, 3);
+			secondBuilder.write(second);
+		}
+		PositionIndex.merge(Arrays.asList(first, second), merged);
+
+		// then
+		assertEquals(5, folder.getRoot().list().length);
+		try (PositionIndex expected = PositionIndex.open(whole); PositionIndex actual = PositionIndex.open(merged)) {
+			assertEquals(expected.getPositionCount(), actual.getPositionCount());
+			Board board = Fen.parse(Fen.INITIAL_POSITION);
+			assertStatistics(actual.find(board), 5, 1, 3, 1);
+			SanResolver resolver = new SanResolver(board);
+			for (String san : OPERA_GAME) {
+				resolver.play(san);
+				PositionStatistics statistics = expected.find(board);
+				assertStatistics(actual.find(board), statistics.getOccurrences(), statistics.getWon(),
+						statistics.getDrawn(), statistics.getLost());
+			}
+		}
+	}
+
+	private static void assertStatistics(PositionStatistics statistics, int occurrences, int won, int drawn,
+			int lost) {
+		assertEquals(occurrences, statistics.getOccurrences());
+		assertEquals(won, statistics.getWon());
+		assertEquals(drawn, statistics.getDrawn());
+		assertEquals(lost, statistics.getLost());
+	}
+
+	private static Board play(String[] sanMoves) throws InvalidFenException, InvalidMoveException {
+		Board board = Fen.parse(Fen.INITIAL_POSITION);
+		SanResolver resolver = new SanResolver(board);
+		for (String san : sanMoves) {
+			resolver.play(san);
+		}
+		return board;
+	}
+}
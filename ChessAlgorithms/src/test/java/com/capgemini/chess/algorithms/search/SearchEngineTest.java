@@ -0,0 +1,125 @@
+package com.capgemini.chess.algorithms.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.capgemini.chess.algorithms.data.Coordinate;
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.generated.Board;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.implementation.Fen;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidFenException;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Test class for testing {@link SearchEngine}
+ *
+ */
+public class SearchEngineTest {
+
+	@Test
+	public void testSearchFindsBackRankMate() throws InvalidFenException {
+		// given
+		Board board = Fen.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+
+		// when
+		SearchResult result = new SearchEngine().search(board, SearchLimits.ofDepth(4));
+
+		// then
+		assertMove(result.getBestMove(), 0, 0, 0, 7);
+		assertEquals(SearchEngine.MATE_SCORE - 1, result.getScore());
+		assertTrue(SearchResult.isMateScore(result.getScore()));
+		assertEquals(1, result.getPrincipalVariation().size());
+	}
+
+	@Test
+	public void testSearchFindsMateInTwo() throws InvalidFenException {
+		// given
+		Board board = Fen.parse("2k5/8/8/8/8/8/R7/1R5K w - - 0 1");
+
+		// when
+		SearchResult result = new SearchEngine().search(board, SearchLimits.ofDepth(6));
+
+		// then
+		assertEquals(SearchEngine.MATE_SCORE - 3, result.getScore());
+		assertEquals(3, result.getPrincipalVariation().size());
+	}
+
+	@Test
+	public void testQuiescenceFindsMateBehindHorizon() throws InvalidFenException {
+		// given
+		Board board = Fen.parse("4r1k1/5ppp/8/8/8/8/8/4R1K1 w - - 0 1");
+
+		// when
+		SearchResult result = new SearchEngine().search(board, SearchLimits.ofDepth(1));
+
+		// then
+		assertMove(result.getBestMove(), 4, 0, 4, 7);
+		assertEquals(SearchEngine.MATE_SCORE - 1, result.getScore());
+		assertEquals(1, result.getDepth());
+	}
+
+	@Test
+	public void testSearchCapturesHangingQueen() throws InvalidFenException {
+		// given
+		Board board = Fen.parse("4k3/8/8/3q4/8/8/8/3RK3 w - - 0 1");
+
+		// when
+		SearchResult result = new SearchEngine().search(board, SearchLimits.ofDepth(3));
+
+		// then
+		assertMove(result.getBestMove(), 3, 0, 3, 4);
+		assertTrue(result.getScore() > 0);
+	}
+
+	@Test
+	public void testSearchInStalemate() throws InvalidFenException {
+		// given
+		Board board = Fen.parse("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1");
+
+		// when
+		SearchResult result = new SearchEngine().search(board, SearchLimits.ofDepth(3));
+
+		// then
+		assertNull(result.getBestMove());
+		assertEquals(0, result.getScore());
+	}
+
+	@Test
+	public void testSearchWithinTimeLimitKeepsBoardAndPlaysLegalMove() throws InvalidMoveException {
+		// given
+		BoardManager boardManager = new BoardManager();
+		String fen = Fen.format(boardManager.getBoard());
+
+		// when
+		SearchResult result = new SearchEngine().search(boardManager.getBoard(), SearchLimits.ofTime(100));
+
+		// then
+		assertEquals(fen, Fen.format(boardManager.getBoard()));
+		assertTrue(result.getDepth() >= 1);
+		assertTrue(result.getTimeMillis() < 1000);
+		Move move = result.getBestMove();
+		boardManager.performMove(move.getFrom(), move.getTo());
+	}
+
+	@Test
+	public void testSearchStopsAtNodeLimit() {
+		// given
+		BoardManager boardManager = new BoardManager();
+
+		// when
+		SearchResult result = new SearchEngine().search(boardManager.getBoard(), SearchLimits.ofNodes(5000));
+
+		// then
+		assertTrue(result.getDepth() >= 1);
+		assertTrue(result.getNodes() <= 5000 || result.getDepth() == 1);
+	}
+
+	private static void assertMove(Move move, int fromX, int fromY, int toX, int toY) {
+		assertEquals(Coordinate.of(fromX, fromY), move.getFrom());
+		assertEquals(Coordinate.of(toX, toY), move.getTo());
+	}
+}
@@ -0,0 +1,82 @@
+package com.capgemini.chess.algorithms.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.enums.BoardState;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Benchmarks of {@link BoardManager} hot paths over games of different
+ * length. Run with:
+ * 
+ * <pre>
+ * java -cp &lt;classpath&gt; org.openjdk.jmh.Main BoardManagerBenchmark -prof gc
+ * </pre>
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class BoardManagerBenchmark {
+
+	@Param({ "SHORT", "MIDDLEGAME", "LONG" })
+	private GameHistory history;
+
+	private List<Move> moves;
+	private BoardManager boardManagerBeforeLastMove;
+	private Move lastMove;
+	private BoardManager boardManager;
+
+	@Setup
+	public void setUp() {
+		moves = history.createMoves();
+		lastMove = moves.get(moves.size() - 1);
+		boardManagerBeforeLastMove = new BoardManager(moves.subList(0, moves.size() - 1));
+		boardManager = new BoardManager(moves);
+	}
+
+	@Benchmark
+	public Move performMove() throws InvalidMoveException {
+		Move move = boardManagerBeforeLastMove.performMove(lastMove.getFrom(), lastMove.getTo());
+		boardManagerBeforeLastMove.getBoard().unmakeMove();
+		return move;
+	}
+
+	@Benchmark
+	public BoardState updateBoardState() throws InvalidMoveException {
+		return boardManager.updateBoardState();
+	}
+
+	@Benchmark
+	public boolean checkThreefoldRepetitionRule() {
+		return boardManager.checkThreefoldRepetitionRule();
+	}
+
+	@Benchmark
+	public boolean checkFiftyMoveRule() {
+		return boardManager.checkFiftyMoveRule();
+	}
+
+	@Benchmark
+	public BoardManager replay() {
+		return new BoardManager(moves);
+	}
+}
@@ -0,0 +1,80 @@
+package com.capgemini.chess.algorithms.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import com.capgemini.chess.algorithms.data.Move;
+import com.capgemini.chess.algorithms.data.enums.MoveType;
+import com.capgemini.chess.algorithms.implementation.BoardManager;
+import com.capgemini.chess.algorithms.implementation.exceptions.InvalidMoveException;
+
+/**
+ * Game histories used by benchmarks. Games are random but reproducible: each
+ * one is played through {@link BoardManager#performMove} with a fixed seed, so
+ * every move in the history is accepted by the move validation.
+ *
+ */
+public enum GameHistory {
+
+	SHORT(12),
+	MIDDLEGAME(60),
+	LONG(300);
+
+	private static final long SEED = 20171018L;
+
+	private final int plies;
+
+	GameHistory(int plies) {
+		this.plies = plies;
+	}
+
+	public int getPlies() {
+		return plies;
+	}
+
+	/**
+	 * Plays the game
+	 *
+	 * @return moves of the game, exactly {@link #getPlies()} of them
+	 */
+	public List<Move> createMoves() {
+		Random random = new Random(SEED + plies);
+		while (true) {
+			List<Move> moves = playRandomGame(random);
+			if (moves != null) {
+				return moves;
+			}
+		}
+	}
+
+	private List<Move> playRandomGame(Random random) {
+		BoardManager boardManager = new BoardManager();
+		List<Move> moves = new ArrayList<>();
+		while (moves.size() < plies) {
+			Move move = playRandomMove(boardManager, random);
+			if (move == null) {
+				return null;
+			}
+			moves.add(move);
+		}
+		return moves;
+	}
+
+	private Move playRandomMove(BoardManager boardManager, Random random) {
+		List<Move> candidates = boardManager.generateLegalMoves();
+		Collections.shuffle(candidates, random);
+		for (Move candidate : candidates) {
+			if (candidate.getType() == MoveType.CASTLING) {
+				continue;
+			}
+			try {
+				return boardManager.performMove(candidate.getFrom(), candidate.getTo());
+			} catch (InvalidMoveException e) {
+				continue;
+			}
+		}
+		return null;
+	}
+}